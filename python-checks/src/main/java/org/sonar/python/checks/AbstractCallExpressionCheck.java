@@ -27,7 +27,6 @@ import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.SubscriptionContext;
 import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.symbols.Symbol;
 
 public abstract class AbstractCallExpressionCheck extends PythonSubscriptionCheck {
 
@@ -35,19 +34,24 @@ public abstract class AbstractCallExpressionCheck extends PythonSubscriptionChec
 
   protected abstract String message();
 
-  protected boolean isException(CallExpression callExpression) {
+  /**
+   * @param calleeFullyQualifiedName the name of {@link #functionsToCheck()} which the callee matched
+   */
+  protected boolean isException(CallExpression callExpression, String calleeFullyQualifiedName) {
     return false;
   }
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, this::visitNode);
+    // one consumer per name, so that the callee symbol is not resolved nor compared again once the call is dispatched
+    for (String calleeFullyQualifiedName : functionsToCheck()) {
+      context.registerCallExpressionConsumer(Collections.singleton(calleeFullyQualifiedName), ctx -> visitNode(ctx, calleeFullyQualifiedName));
+    }
   }
 
-  public void visitNode(SubscriptionContext ctx) {
+  private void visitNode(SubscriptionContext ctx, String calleeFullyQualifiedName) {
     CallExpression node = (CallExpression) ctx.syntaxNode();
-    Symbol symbol = node.calleeSymbol();
-    if (!isException(node) && symbol != null && functionsToCheck().contains(symbol.fullyQualifiedName())) {
+    if (!isException(node, calleeFullyQualifiedName)) {
       ctx.addIssue(node.callee(), message());
     }
   }
@@ -28,7 +28,6 @@ import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.tree.Expression;
 import org.sonar.plugins.python.api.tree.Name;
 import org.sonar.plugins.python.api.tree.NumericLiteral;
-import org.sonar.plugins.python.api.tree.StringElement;
 import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.plugins.python.api.tree.Tuple;
@@ -78,7 +77,7 @@ public abstract class AbstractDuplicateKeyCheck extends PythonSubscriptionCheck
   }
 
   private static boolean areEquivalentStringLiterals(StringLiteral key, StringLiteral comparedKey) {
-    if (key.stringElements().stream().anyMatch(StringElement::isInterpolated) || comparedKey.stringElements().stream().anyMatch(StringElement::isInterpolated)) {
+    if (key.isInterpolated() || comparedKey.isInterpolated()) {
       return false;
     }
     if (key.trimmedQuotesValue().equals(comparedKey.trimmedQuotesValue())) {
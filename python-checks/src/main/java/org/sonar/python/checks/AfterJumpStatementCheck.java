@@ -23,9 +23,7 @@ import javax.annotation.Nullable;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.cfg.CfgBlock;
 import org.sonar.plugins.python.api.cfg.ControlFlowGraph;
-import org.sonar.plugins.python.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.python.api.tree.StatementList;
-import org.sonar.plugins.python.api.tree.TryStatement;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.SubscriptionContext;
 import org.sonar.plugins.python.api.tree.FileInput;
@@ -58,10 +56,8 @@ public class AfterJumpStatementCheck extends PythonSubscriptionCheck {
     if (cfg == null || body == null) {
       return;
     }
-    TryStatementVisitor tryStatementVisitor = new TryStatementVisitor();
-    body.accept(tryStatementVisitor);
     // to avoid FP in the CFG, we exclude try statement containing jumps
-    if (tryStatementVisitor.hasTryStatementContainingJump) {
+    if (hasTryStatementContainingJump(body)) {
       return;
     }
     for (CfgBlock cfgBlock : cfg.blocks()) {
@@ -77,18 +73,11 @@ public class AfterJumpStatementCheck extends PythonSubscriptionCheck {
     }
   }
 
-  private static class TryStatementVisitor extends BaseTreeVisitor {
-    boolean hasTryStatementContainingJump = false;
-    @Override
-    public void visitFunctionDef(FunctionDef functionDef) {
-      // don't go inside functions
-    }
-
-    @Override
-    public void visitTryStatement(TryStatement tryStatement) {
-      if (!hasTryStatementContainingJump) {
-        hasTryStatementContainingJump = TreeUtils.hasDescendant(tryStatement, tree -> tree.is(Kind.BREAK_STMT, Kind.CONTINUE_STMT, Kind.RETURN_STMT));
-      }
-    }
+  private static boolean hasTryStatementContainingJump(StatementList body) {
+    // try statements of nested functions are ignored
+    Tree enclosingFunction = TreeUtils.firstAncestorOfKind(body, Kind.FUNCDEF);
+    return TreeUtils.descendantsOfKind(body, Kind.TRY_STMT).stream()
+      .filter(tryStatement -> TreeUtils.firstAncestorOfKind(tryStatement, Kind.FUNCDEF) == enclosingFunction)
+      .anyMatch(tryStatement -> TreeUtils.hasDescendantOfKind(tryStatement, Kind.BREAK_STMT, Kind.CONTINUE_STMT, Kind.RETURN_STMT));
   }
 }
@@ -40,6 +40,9 @@ public class CheckUtils {
     if (leftTree == null || rightTree == null) {
       return false;
     }
+    if (leftTree.structuralHash() != rightTree.structuralHash()) {
+      return false;
+    }
     if (leftTree.getKind() != rightTree.getKind() || leftTree.children().size() != rightTree.children().size()) {
       return false;
     }
@@ -19,9 +19,14 @@
  */
 package org.sonar.python.checks;
 
-import com.sonar.sslr.api.AstNode;
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.TokenType;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import org.sonar.check.Rule;
@@ -34,8 +39,10 @@ import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.plugins.python.api.tree.Trivia;
-import org.sonar.python.parser.PythonParser;
-import org.sonar.python.tree.PythonTreeMaker;
+import org.sonar.python.api.PythonKeyword;
+import org.sonar.python.api.PythonPunctuator;
+import org.sonar.python.api.PythonTokenType;
+import org.sonar.python.parser.PythonFragmentParser;
 
 @Rule(key = "S125")
 public class CommentedCodeCheck extends PythonSubscriptionCheck {
@@ -43,7 +50,12 @@ public class CommentedCodeCheck extends PythonSubscriptionCheck {
   public static final String MESSAGE = "Remove this commented out code.";
   // Regex coming from https://www.python.org/dev/peps/pep-0263/#defining-the-encoding
   private static final Pattern ENCODING_PATTERN = Pattern.compile(".*?coding[:=][ \\t]*([-_.a-zA-Z0-9]+)\n");
-  private static final PythonParser parser = PythonParser.create();
+  // identifiers which can be directly followed by another identifier: print and exec statements, async and await
+  private static final Set<String> NAMES_FOLLOWED_BY_NAME = new HashSet<>(Arrays.asList("print", "exec", "async", "await"));
+  private static final Set<String> STATEMENT_NAMES = new HashSet<>(Arrays.asList("print", "exec"));
+  private static final Set<String> EXPRESSION_PUNCTUATORS = new HashSet<>(Arrays.asList(
+    "(", ")", "[", "]", "{", "}", ".", ",", "+", "-", "*", "/", "//", "%", "**", "<", ">", "<=", ">=", "==", "!=", "<>", "&", "|", "^", "~", "<<", ">>"));
+  private static final Set<PythonKeyword> EXPRESSION_KEYWORDS = EnumSet.of(PythonKeyword.AND, PythonKeyword.OR, PythonKeyword.NOT, PythonKeyword.IN, PythonKeyword.IS);
 
   @Override
   public void initialize(Context context) {
@@ -123,13 +135,57 @@ public class CommentedCodeCheck extends PythonSubscriptionCheck {
   }
 
   private static boolean isTextParsedAsCode(String text) {
-    try {
-      AstNode astNode = parser.parse(text);
-      FileInput parse = new PythonTreeMaker().fileInput(astNode);
-      return parse.statements() != null && !isSimpleExpression(parse);
-    } catch (Exception e) {
+    PythonFragmentParser fragmentParser = PythonFragmentParser.forCurrentThread();
+    List<com.sonar.sslr.api.Token> tokens = fragmentParser.tokenize(text);
+    if (isProse(tokens) || isSingleExpressionLine(tokens)) {
       return false;
     }
+    FileInput parse = fragmentParser.parse(tokens);
+    return parse != null && parse.statements() != null && !isSimpleExpression(parse);
+  }
+
+  /**
+   * Two consecutive identifiers can't be parsed, except after a few names acting as keywords.
+   */
+  private static boolean isProse(List<com.sonar.sslr.api.Token> tokens) {
+    for (int i = 1; i < tokens.size(); i++) {
+      com.sonar.sslr.api.Token previous = tokens.get(i - 1);
+      if (isName(previous) && isName(tokens.get(i)) && !NAMES_FOLLOWED_BY_NAME.contains(previous.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A single line made of expression tokens only is either not parsed or parsed as a single expression statement.
+   */
+  private static boolean isSingleExpressionLine(List<com.sonar.sslr.api.Token> tokens) {
+    int newLines = 0;
+    for (com.sonar.sslr.api.Token token : tokens) {
+      TokenType type = token.getType();
+      if (type == PythonTokenType.NEWLINE) {
+        newLines++;
+      } else if (!isExpressionToken(token) && type != GenericTokenType.EOF) {
+        return false;
+      }
+    }
+    return newLines <= 1;
+  }
+
+  private static boolean isExpressionToken(com.sonar.sslr.api.Token token) {
+    TokenType type = token.getType();
+    if (isName(token)) {
+      return !STATEMENT_NAMES.contains(token.getValue());
+    }
+    return type == PythonTokenType.NUMBER
+      || type == PythonTokenType.STRING
+      || EXPRESSION_KEYWORDS.contains(type)
+      || (type instanceof PythonPunctuator && EXPRESSION_PUNCTUATORS.contains(token.getValue()));
+  }
+
+  private static boolean isName(com.sonar.sslr.api.Token token) {
+    return token.getType() == GenericTokenType.IDENTIFIER;
   }
 
   private static boolean isSimpleExpression(FileInput fileInput) {
@@ -49,7 +49,7 @@ public class DeadStoreCheck extends PythonSubscriptionCheck {
   public void initialize(Context context) {
     context.registerSyntaxNodeConsumer(Tree.Kind.FUNCDEF, ctx -> {
       FunctionDef functionDef = (FunctionDef) ctx.syntaxNode();
-      if (TreeUtils.hasDescendant(functionDef, tree -> tree.is(Tree.Kind.TRY_STMT))) {
+      if (TreeUtils.hasDescendantOfKind(functionDef, Tree.Kind.TRY_STMT)) {
         return;
       }
       ControlFlowGraph cfg = ControlFlowGraph.build(functionDef, ctx.pythonFile());
@@ -20,7 +20,9 @@
 package org.sonar.python.checks;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.SubscriptionContext;
@@ -43,19 +45,22 @@ public class DuplicatedMethodImplementationCheck extends PythonSubscriptionCheck
       MethodVisitor methodVisitor = new MethodVisitor();
       classDef.body().accept(methodVisitor);
 
-      for (int i = 1; i < methodVisitor.methods.size(); i++) {
-        checkMethods(methodVisitor.methods.get(i), methodVisitor.methods, i, ctx);
+      // only methods whose bodies have the same structural hash can be equivalent
+      Map<Integer, List<FunctionDef>> previousMethodsByBodyHash = new HashMap<>();
+      for (FunctionDef method : methodVisitor.methods) {
+        List<FunctionDef> candidates = previousMethodsByBodyHash.computeIfAbsent(method.body().structuralHash(), h -> new ArrayList<>());
+        checkMethods(method, candidates, ctx);
+        candidates.add(method);
       }
     });
   }
 
-  private static void checkMethods(FunctionDef suspiciousMethod, List<FunctionDef> methods, int index, SubscriptionContext ctx) {
+  private static void checkMethods(FunctionDef suspiciousMethod, List<FunctionDef> candidates, SubscriptionContext ctx) {
     StatementList suspiciousBody = suspiciousMethod.body();
-    if (isException(suspiciousMethod)) {
+    if (candidates.isEmpty() || isException(suspiciousMethod)) {
       return;
     }
-    for (int j = 0; j < index; j++) {
-      FunctionDef originalMethod = methods.get(j);
+    for (FunctionDef originalMethod : candidates) {
       Tree originalBody = originalMethod.body();
       if (CheckUtils.areEquivalent(originalBody, suspiciousBody)) {
         int line = originalMethod.name().firstToken().line();
@@ -27,7 +27,6 @@ import javax.annotation.Nullable;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.tree.StringLiteral;
-import org.sonar.plugins.python.api.tree.Tree;
 
 @Rule(key = HardcodedIPCheck.CHECK_KEY)
 public class HardcodedIPCheck extends PythonSubscriptionCheck {
@@ -45,6 +44,9 @@ public class HardcodedIPCheck extends PythonSubscriptionCheck {
     Pattern.compile(IPV6_ALONE),
     Pattern.compile(IPV6_URL));
 
+  // addresses contain dots or colons, which can also be produced by escape sequences
+  private static final List<String> ADDRESS_CHARACTERS = Arrays.asList(".", ":", "\\");
+
   private static final Pattern IPV6_LOOPBACK = Pattern.compile("[0:]++0*+1");
   private static final Pattern IPV6_NON_ROUTABLE = Pattern.compile("[0:]++");
 
@@ -52,7 +54,7 @@ public class HardcodedIPCheck extends PythonSubscriptionCheck {
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.STRING_LITERAL, ctx -> {
+    context.registerStringLiteralConsumer(ADDRESS_CHARACTERS, ctx -> {
       StringLiteral stringLiteral = (StringLiteral) ctx.syntaxNode();
       if (isMultilineString(stringLiteral)) {
         return;
@@ -55,7 +55,7 @@ public class IdenticalExpressionOnBinaryOperatorCheck extends PythonSubscription
 
   private static boolean isException(Expression leftOperand) {
     // Avoid raising issue if operands are function calls or within try/except blocks
-    return leftOperand.is(Tree.Kind.CALL_EXPR) || TreeUtils.hasDescendant(leftOperand, t -> t.is(Tree.Kind.CALL_EXPR))
+    return leftOperand.is(Tree.Kind.CALL_EXPR) || TreeUtils.hasDescendantOfKind(leftOperand, Tree.Kind.CALL_EXPR)
       || TreeUtils.firstAncestorOfKind(leftOperand, Tree.Kind.TRY_STMT) != null;
   }
 
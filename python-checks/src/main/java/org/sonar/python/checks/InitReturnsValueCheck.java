@@ -19,15 +19,12 @@
  */
 package org.sonar.python.checks;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.tree.FunctionDef;
 import org.sonar.plugins.python.api.tree.ReturnStatement;
-import org.sonar.plugins.python.api.tree.YieldStatement;
 import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.tree.BaseTreeVisitor;
+import org.sonar.python.tree.TreeUtils;
 
 @Rule(key = InitReturnsValueCheck.CHECK_KEY)
 public class InitReturnsValueCheck extends PythonSubscriptionCheck {
@@ -44,35 +41,22 @@ public class InitReturnsValueCheck extends PythonSubscriptionCheck {
       if (!"__init__".equals(func.name().name())) {
         return;
       }
-      ReturnAndYieldVisitor returnAndYieldVisitor = new ReturnAndYieldVisitor();
-      func.body().accept(returnAndYieldVisitor);
-      for (Tree returnNode : returnAndYieldVisitor.returnNodes) {
+      for (Tree returnNode : TreeUtils.descendantsOfKind(func.body(), Tree.Kind.RETURN_STMT, Tree.Kind.YIELD_STMT)) {
+        // returns and yields of nested functions are ignored
+        if (TreeUtils.firstAncestorOfKind(returnNode, Tree.Kind.FUNCDEF) != func || returnsNone(returnNode)) {
+          continue;
+        }
         String message = returnNode.is(Tree.Kind.RETURN_STMT) ? MESSAGE_RETURN : MESSAGE_YIELD;
         ctx.addIssue(returnNode, message);
       }
     });
   }
 
-  private static class ReturnAndYieldVisitor extends BaseTreeVisitor {
-
-    List<Tree> returnNodes = new ArrayList<>();
-
-    @Override
-    public void visitFunctionDef(FunctionDef pyFunctionDefTree) {
-      // Ignore nested function definitions
-    }
-
-    @Override
-    public void visitReturnStatement(ReturnStatement pyReturnStatementTree) {
-      if (pyReturnStatementTree.expressions().isEmpty() || pyReturnStatementTree.expressions().get(0).is(Tree.Kind.NONE)) {
-        return;
-      }
-      returnNodes.add(pyReturnStatementTree);
-    }
-
-    @Override
-    public void visitYieldStatement(YieldStatement pyYieldStatementTree) {
-      returnNodes.add(pyYieldStatementTree);
+  private static boolean returnsNone(Tree returnNode) {
+    if (returnNode.is(Tree.Kind.RETURN_STMT)) {
+      ReturnStatement returnStatement = (ReturnStatement) returnNode;
+      return returnStatement.expressions().isEmpty() || returnStatement.expressions().get(0).is(Tree.Kind.NONE);
     }
+    return false;
   }
 }
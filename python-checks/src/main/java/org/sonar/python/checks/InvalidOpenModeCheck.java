@@ -32,7 +32,6 @@ import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.Expression;
 import org.sonar.plugins.python.api.tree.Name;
 import org.sonar.plugins.python.api.tree.RegularArgument;
-import org.sonar.plugins.python.api.tree.StringElement;
 import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.python.tree.TreeUtils;
@@ -70,7 +69,7 @@ public class InvalidOpenModeCheck extends PythonSubscriptionCheck {
   }
 
   private static void checkOpenMode(SubscriptionContext ctx, Expression openExpression, StringLiteral stringLiteral) {
-    if (stringLiteral.stringElements().stream().anyMatch(StringElement::isInterpolated)) {
+    if (stringLiteral.isInterpolated()) {
       return;
     }
     String mode = stringLiteral.trimmedQuotesValue();
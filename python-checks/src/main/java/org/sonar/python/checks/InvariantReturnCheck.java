@@ -95,7 +95,7 @@ public class InvariantReturnCheck extends PythonSubscriptionCheck {
     Tree branchingTree = branchingBlock.branchingTree();
     if (branchingTree.is(Kind.TRY_STMT)) {
       TryStatement tryStatement = (TryStatement) branchingTree;
-      if (!TreeUtils.hasDescendant(tryStatement.body(), t -> t.is(Kind.RETURN_STMT))) {
+      if (!TreeUtils.hasDescendantOfKind(tryStatement.body(), Kind.RETURN_STMT)) {
         collectedBlocks.add(new LatestExecutedBlock(branchingBlock));
       }
     } else if (branchingTree.is(Kind.IF_STMT)) {
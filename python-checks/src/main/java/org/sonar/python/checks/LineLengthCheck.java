@@ -22,11 +22,13 @@ package org.sonar.python.checks;
 import java.text.MessageFormat;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
-import org.sonar.plugins.python.api.PythonSubscriptionCheck;
-import org.sonar.plugins.python.api.tree.Tree;
+import org.sonar.plugins.python.api.IssueLocation;
+import org.sonar.plugins.python.api.PythonCheck;
+import org.sonar.plugins.python.api.PythonVisitorContext;
+import org.sonar.python.LineIndex;
 
 @Rule(key = LineLengthCheck.CHECK_KEY)
-public class LineLengthCheck extends PythonSubscriptionCheck {
+public class LineLengthCheck implements PythonCheck {
 
   public static final String CHECK_KEY = "LineLength";
   private static final int DEFAULT_MAXIMUM_LINE_LENGTH = 120;
@@ -38,17 +40,19 @@ public class LineLengthCheck extends PythonSubscriptionCheck {
   public int maximumLineLength = DEFAULT_MAXIMUM_LINE_LENGTH;
 
   @Override
-  public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.FILE_INPUT, ctx -> {
-      String[] lines = ctx.pythonFile().content().split("\r?\n|\r", -1);
-      for (int i = 0; i < lines.length; i++) {
-        String line = lines[i];
-        if (line.length() > maximumLineLength) {
-          String message = MessageFormat.format("The line contains {0,number,integer} characters which is greater than {1,number,integer} authorized.",
-            line.length(), maximumLineLength);
-          ctx.addLineIssue(message, i + 1);
-        }
+  public void scanFile(PythonVisitorContext ctx) {
+    if (ctx.rootTree() == null) {
+      // files which cannot be parsed are not checked
+      return;
+    }
+    LineIndex lineIndex = ctx.lineIndex();
+    for (int line = 1; line <= lineIndex.lineCount(); line++) {
+      int lineLength = lineIndex.lineLength(line);
+      if (lineLength > maximumLineLength) {
+        String message = MessageFormat.format("The line contains {0,number,integer} characters which is greater than {1,number,integer} authorized.",
+          lineLength, maximumLineLength);
+        ctx.addIssue(new PreciseIssue(this, IssueLocation.atLineLevel(message, line)));
       }
-    });
+    }
   }
 }
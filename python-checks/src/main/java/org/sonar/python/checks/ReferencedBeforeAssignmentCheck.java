@@ -47,7 +47,7 @@ public class ReferencedBeforeAssignmentCheck extends PythonSubscriptionCheck {
     context.registerSyntaxNodeConsumer(Tree.Kind.FUNCDEF, ctx -> {
       List<Symbol> ignoredSymbols = new ArrayList<>();
       FunctionDef functionDef = (FunctionDef) ctx.syntaxNode();
-      if (TreeUtils.hasDescendant(functionDef, tree -> tree.is(Tree.Kind.TRY_STMT))) {
+      if (TreeUtils.hasDescendantOfKind(functionDef, Tree.Kind.TRY_STMT)) {
         return;
       }
       ControlFlowGraph cfg = ControlFlowGraph.build(functionDef, ctx.pythonFile());
@@ -19,13 +19,14 @@
  */
 package org.sonar.python.checks;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.tree.FunctionDef;
 import org.sonar.plugins.python.api.tree.ReturnStatement;
-import org.sonar.plugins.python.api.tree.YieldStatement;
 import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.tree.BaseTreeVisitor;
+import org.sonar.python.tree.TreeUtils;
 
 @Rule(key = ReturnAndYieldInOneFunctionCheck.CHECK_KEY)
 public class ReturnAndYieldInOneFunctionCheck extends PythonSubscriptionCheck {
@@ -36,35 +37,16 @@ public class ReturnAndYieldInOneFunctionCheck extends PythonSubscriptionCheck {
   public void initialize(Context context) {
     context.registerSyntaxNodeConsumer(Tree.Kind.FUNCDEF, ctx -> {
       FunctionDef func = ((FunctionDef) ctx.syntaxNode());
-      ReturnAndYieldVisitor returnAndYieldVisitor = new ReturnAndYieldVisitor();
-      func.body().accept(returnAndYieldVisitor);
-
-      if (returnAndYieldVisitor.hasYield && returnAndYieldVisitor.hasReturn) {
+      // returns and yields of nested functions are ignored
+      List<Tree> returnsAndYields = TreeUtils.descendantsOfKind(func.body(), Tree.Kind.RETURN_STMT, Tree.Kind.YIELD_STMT).stream()
+        .filter(t -> TreeUtils.firstAncestorOfKind(t, Tree.Kind.FUNCDEF) == func)
+        .collect(Collectors.toList());
+      boolean hasYield = returnsAndYields.stream().anyMatch(t -> t.is(Tree.Kind.YIELD_STMT));
+      boolean hasReturn = returnsAndYields.stream().anyMatch(t -> t.is(Tree.Kind.RETURN_STMT) && !((ReturnStatement) t).expressions().isEmpty());
+
+      if (hasYield && hasReturn) {
         ctx.addIssue(func.name(), "Use only \"return\" or only \"yield\", not both.");
       }
     });
   }
-
-  private static class ReturnAndYieldVisitor extends BaseTreeVisitor {
-
-    private boolean hasYield = false;
-    private boolean hasReturn = false;
-
-    @Override
-    public void visitFunctionDef(FunctionDef pyFunctionDefTree) {
-      // Ignore nested function definitions
-    }
-
-    @Override
-    public void visitReturnStatement(ReturnStatement pyReturnStatementTree) {
-      if(!pyReturnStatementTree.expressions().isEmpty()) {
-        hasReturn = true;
-      }
-    }
-
-    @Override
-    public void visitYieldStatement(YieldStatement pyYieldStatementTree) {
-      hasYield = true;
-    }
-  }
 }
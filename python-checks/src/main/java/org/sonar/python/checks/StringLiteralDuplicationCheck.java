@@ -24,19 +24,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.plugins.python.api.PythonVisitorCheck;
 import org.sonar.plugins.python.api.tree.Decorator;
 import org.sonar.plugins.python.api.tree.ExpressionStatement;
 import org.sonar.plugins.python.api.tree.FileInput;
-import org.sonar.plugins.python.api.tree.StringElement;
 import org.sonar.plugins.python.api.tree.StringLiteral;
-import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.plugins.python.api.tree.TypeAnnotation;
-import org.sonar.python.tree.TreeUtils;
 
 @Rule(key = "S1192")
 public class StringLiteralDuplicationCheck extends PythonVisitorCheck {
@@ -88,16 +84,14 @@ public class StringLiteralDuplicationCheck extends PythonVisitorCheck {
 
   @Override
   public void visitStringLiteral(StringLiteral literal) {
-    String value = Expressions.unescape(literal);
-    boolean hasInterpolation = literal.stringElements().stream().anyMatch(StringElement::isInterpolated);
-    boolean isExcluded = hasInterpolation
+    String value = literal.unescapedValue();
+    boolean isExcluded = literal.isInterpolated()
       || value.length() < MINIMUM_LITERAL_LENGTH
       || BASIC_EXCLUSION_PATTERN.matcher(value).matches()
       || FORMATTING_PATTERN.matcher(value).matches()
       || COLOR_PATTERN.matcher(value).matches();
     if (!isExcluded) {
-      String valueWithQuotes = TreeUtils.tokens(literal).stream().map(Token::value).collect(Collectors.joining());
-      literalsByValue.computeIfAbsent(valueWithQuotes, key -> new ArrayList<>()).add(literal);
+      literalsByValue.computeIfAbsent(literal.value(), key -> new ArrayList<>()).add(literal);
     }
   }
 
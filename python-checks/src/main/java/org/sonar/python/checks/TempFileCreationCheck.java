@@ -20,14 +20,10 @@
 package org.sonar.python.checks;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
-import javax.annotation.Nullable;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
-import org.sonar.plugins.python.api.tree.CallExpression;
-import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.symbols.Symbol;
 
 @Rule(key = "S5445")
 public class TempFileCreationCheck extends PythonSubscriptionCheck {
@@ -36,17 +32,9 @@ public class TempFileCreationCheck extends PythonSubscriptionCheck {
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> {
-      CallExpression callExpr = (CallExpression) ctx.syntaxNode();
-      Symbol symbol = callExpr.calleeSymbol();
-      isInsecureTempFile(symbol).ifPresent(s -> ctx.addIssue(callExpr, String.format("'%s' is insecure. Use 'tempfile.TemporaryFile' instead", s)));
-    });
-  }
-
-  private static Optional<String> isInsecureTempFile(@Nullable Symbol symbol) {
-    if (symbol == null) {
-      return Optional.empty();
+    for (String suspiciousCall : SUSPICIOUS_CALLS) {
+      String message = String.format("'%s' is insecure. Use 'tempfile.TemporaryFile' instead", suspiciousCall);
+      context.registerCallExpressionConsumer(Collections.singleton(suspiciousCall), ctx -> ctx.addIssue(ctx.syntaxNode(), message));
     }
-    return SUSPICIOUS_CALLS.stream().filter(call -> call.equals(symbol.fullyQualifiedName())).findFirst();
   }
 }
@@ -19,17 +19,14 @@
  */
 package org.sonar.python.checks;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.tree.FunctionDef;
-import org.sonar.plugins.python.api.tree.ReturnStatement;
-import org.sonar.plugins.python.api.tree.Statement;
-import org.sonar.plugins.python.api.tree.YieldStatement;
 import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.tree.BaseTreeVisitor;
+import org.sonar.python.tree.TreeUtils;
 
 @Rule(key = TooManyReturnsCheck.CHECK_KEY)
 public class TooManyReturnsCheck extends PythonSubscriptionCheck {
@@ -48,35 +45,15 @@ public class TooManyReturnsCheck extends PythonSubscriptionCheck {
   public void initialize(Context context) {
     context.registerSyntaxNodeConsumer(Tree.Kind.FUNCDEF, ctx -> {
       FunctionDef func = ((FunctionDef) ctx.syntaxNode());
-      ReturnCountVisitor returnCountVisitor = new ReturnCountVisitor();
-      func.body().accept(returnCountVisitor);
-
-      if (returnCountVisitor.returnStatements.size() > max) {
-        PreciseIssue preciseIssue = ctx.addIssue(func.name(), String.format(MESSAGE, returnCountVisitor.returnStatements.size(), max));
-        returnCountVisitor.returnStatements.forEach(r -> preciseIssue.secondary(r, null));
+      // returns and yields of nested functions are ignored
+      List<Tree> returnStatements = TreeUtils.descendantsOfKind(func.body(), Tree.Kind.RETURN_STMT, Tree.Kind.YIELD_STMT).stream()
+        .filter(t -> TreeUtils.firstAncestorOfKind(t, Tree.Kind.FUNCDEF) == func)
+        .collect(Collectors.toList());
+
+      if (returnStatements.size() > max) {
+        PreciseIssue preciseIssue = ctx.addIssue(func.name(), String.format(MESSAGE, returnStatements.size(), max));
+        returnStatements.forEach(r -> preciseIssue.secondary(r, null));
       }
     });
   }
-
-  private static class ReturnCountVisitor extends BaseTreeVisitor {
-
-    private List<Statement> returnStatements = new ArrayList<>();
-
-    @Override
-    public void visitFunctionDef(FunctionDef pyFunctionDefTree) {
-      // Ignore nested function definitions
-    }
-
-    @Override
-    public void visitReturnStatement(ReturnStatement pyReturnStatementTree) {
-      super.visitReturnStatement(pyReturnStatementTree);
-      returnStatements.add(pyReturnStatementTree);
-    }
-
-    @Override
-    public void visitYieldStatement(YieldStatement pyYieldStatementTree) {
-      super.visitYieldStatement(pyYieldStatementTree);
-      returnStatements.add(pyYieldStatementTree);
-    }
-  }
 }
@@ -19,11 +19,13 @@
  */
 package org.sonar.python.checks;
 
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.IssueLocation;
 import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
+import org.sonar.python.LineIndex;
 
 @Rule(key = "S1131")
 public class TrailingWhitespaceCheck implements PythonCheck {
@@ -33,10 +35,13 @@ public class TrailingWhitespaceCheck implements PythonCheck {
 
   @Override
   public void scanFile(PythonVisitorContext ctx) {
-    String[] lines = ctx.pythonFile().content().split("\r\n|\n|\r", -1);
-    for (int i = 0; i < lines.length; i++) {
-      if (TRAILING_WS.matcher(lines[i]).find()) {
-        ctx.addIssue(new PreciseIssue(this, IssueLocation.atLineLevel(MESSAGE, i + 1)));
+    LineIndex lineIndex = ctx.lineIndex();
+    Matcher matcher = TRAILING_WS.matcher(lineIndex.content());
+    for (int line = 1; line <= lineIndex.lineCount(); line++) {
+      // a match can only span the last two characters of the line: a whitespace, possibly followed by a unicode line terminator
+      int end = lineIndex.lineEnd(line);
+      if (matcher.region(Math.max(lineIndex.lineStart(line), end - 2), end).find()) {
+        ctx.addIssue(new PreciseIssue(this, IssueLocation.atLineLevel(MESSAGE, line)));
       }
     }
   }
@@ -134,12 +134,12 @@ public class UselessStatementCheck extends PythonSubscriptionCheck {
   }
 
   private static boolean isBooleanExpressionWithCalls(Tree tree) {
-    return (tree.is(Kind.AND) || tree.is(Kind.OR) || tree.is(Kind.NOT)) && (TreeUtils.hasDescendant(tree, t -> t.is(Kind.CALL_EXPR)));
+    return (tree.is(Kind.AND) || tree.is(Kind.OR) || tree.is(Kind.NOT)) && TreeUtils.hasDescendantOfKind(tree, Kind.CALL_EXPR);
   }
 
   public static void checkConditionalExpression(SubscriptionContext ctx) {
     ConditionalExpression conditionalExpression = (ConditionalExpression) ctx.syntaxNode();
-    if (TreeUtils.hasDescendant(conditionalExpression, t -> t.is(Kind.CALL_EXPR))) {
+    if (TreeUtils.hasDescendantOfKind(conditionalExpression, Kind.CALL_EXPR)) {
       return;
     }
     checkNode(ctx);
@@ -191,9 +191,8 @@ public class UselessStatementCheck extends PythonSubscriptionCheck {
   }
 
   private static boolean couldBePython2PrintStatement(BinaryExpression binaryExpression) {
-    return TreeUtils.hasDescendant(binaryExpression, t -> t.is(Kind.CALL_EXPR)
-      && ((CallExpression) t).callee().is(Kind.NAME)
-      && ((Name) ((CallExpression) t).callee()).name().equals("print"));
+    return TreeUtils.descendantsOfKind(binaryExpression, Kind.CALL_EXPR).stream()
+      .anyMatch(t -> ((CallExpression) t).callee().is(Kind.NAME) && ((Name) ((CallExpression) t).callee()).name().equals("print"));
   }
 
   private void checkUnaryExpression(SubscriptionContext ctx) {
@@ -37,6 +37,7 @@ import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.Expression;
 import org.sonar.plugins.python.api.tree.HasSymbol;
 import org.sonar.plugins.python.api.tree.StringElement;
+import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.python.checks.Expressions;
 import org.sonar.python.tree.TreeUtils;
@@ -44,6 +45,8 @@ import org.sonar.python.tree.TreeUtils;
 @Rule(key = "S5332")
 public class ClearTextProtocolsCheck extends PythonSubscriptionCheck {
   private static final List<String> SENSITIVE_PROTOCOLS = Arrays.asList("http://", "ftp://", "telnet://");
+  // protocols are followed by "://", which can also be produced by escape sequences
+  private static final List<String> PROTOCOL_KEYWORDS = Arrays.asList("://", "\\");
   private static final Pattern LOOPBACK = Pattern.compile("localhost|127(?:\\.[0-9]+){0,2}\\.[0-9]+$|^(?:0*\\:)*?:?0*1", Pattern.CASE_INSENSITIVE);
   private static final Map<String, String> ALTERNATIVES = new HashMap<>();
 
@@ -56,13 +59,14 @@ public class ClearTextProtocolsCheck extends PythonSubscriptionCheck {
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.STRING_ELEMENT, ctx -> {
-      Tree node = ctx.syntaxNode();
-      String value = Expressions.unescape((StringElement) node);
-      unsafeProtocol(value)
-        // cleanup slashes
-        .map(protocol -> protocol.substring(0, protocol.length() - 3))
-        .ifPresent(protocol -> ctx.addIssue(node, message(protocol)));
+    context.registerStringLiteralConsumer(PROTOCOL_KEYWORDS, ctx -> {
+      for (StringElement stringElement : ((StringLiteral) ctx.syntaxNode()).stringElements()) {
+        String value = Expressions.unescape(stringElement);
+        unsafeProtocol(value)
+          // cleanup slashes
+          .map(protocol -> protocol.substring(0, protocol.length() - 3))
+          .ifPresent(protocol -> ctx.addIssue(stringElement, message(protocol)));
+      }
     });
     context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> {
       Symbol symbol = ((CallExpression) ctx.syntaxNode()).calleeSymbol();
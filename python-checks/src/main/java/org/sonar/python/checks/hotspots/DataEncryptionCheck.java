@@ -23,9 +23,6 @@ import java.util.Arrays;
 import java.util.List;
 import org.sonar.check.Rule;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
-import org.sonar.plugins.python.api.tree.CallExpression;
-import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.symbols.Symbol;
 
 @Rule(key = "S4787")
 public class DataEncryptionCheck extends PythonSubscriptionCheck {
@@ -72,12 +69,6 @@ public class DataEncryptionCheck extends PythonSubscriptionCheck {
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> {
-      CallExpression callExpression = (CallExpression) ctx.syntaxNode();
-      Symbol symbol = callExpression.calleeSymbol();
-      if (symbol != null && FUNCTIONS_TO_CHECK.contains(symbol.fullyQualifiedName())) {
-        ctx.addIssue(callExpression, "Make sure that encrypting data is safe here.");
-      }
-    });
+    context.registerCallExpressionConsumer(FUNCTIONS_TO_CHECK, ctx -> ctx.addIssue(ctx.syntaxNode(), "Make sure that encrypting data is safe here."));
   }
 }
@@ -21,6 +21,7 @@ package org.sonar.python.checks.hotspots;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -51,7 +52,6 @@ import org.sonar.plugins.python.api.tree.Name;
 import org.sonar.plugins.python.api.tree.Parameter;
 import org.sonar.plugins.python.api.tree.ParameterList;
 import org.sonar.plugins.python.api.tree.RegularArgument;
-import org.sonar.plugins.python.api.tree.StringElement;
 import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.SubscriptionExpression;
 import org.sonar.plugins.python.api.tree.Tree;
@@ -69,6 +69,8 @@ public class HardCodedCredentialsCheck extends PythonSubscriptionCheck {
     defaultValue = DEFAULT_CREDENTIAL_WORDS)
   public String credentialWords = DEFAULT_CREDENTIAL_WORDS;
 
+  private static final Pattern PLAIN_WORD = Pattern.compile("[\\w-]+");
+
   public static final String MESSAGE = "\"%s\" detected here, review this potentially hard-coded credential.";
 
   private List<Pattern> variablePatterns = null;
@@ -111,13 +113,26 @@ public class HardCodedCredentialsCheck extends PythonSubscriptionCheck {
   @Override
   public void initialize(Context context) {
     context.registerSyntaxNodeConsumer(Kind.ASSIGNMENT_STMT, ctx -> handleAssignmentStatement((AssignmentStatement) ctx.syntaxNode(), ctx));
-    context.registerSyntaxNodeConsumer(Kind.STRING_LITERAL, ctx -> handleStringLiteral((StringLiteral) ctx.syntaxNode(), ctx));
+    registerStringLiteralConsumer(context);
     context.registerSyntaxNodeConsumer(Kind.CALL_EXPR, ctx -> handleCallExpression((CallExpression) ctx.syntaxNode(), ctx));
     context.registerSyntaxNodeConsumer(Kind.REGULAR_ARGUMENT, ctx -> handleRegularArgument((RegularArgument) ctx.syntaxNode(), ctx));
     context.registerSyntaxNodeConsumer(Kind.PARAMETER_LIST, ctx -> handleParameterList((ParameterList) ctx.syntaxNode(), ctx));
     context.registerSyntaxNodeConsumer(Kind.DICTIONARY_LITERAL, ctx -> handleDictionaryLiteral((DictionaryLiteral) ctx.syntaxNode(), ctx));
   }
 
+  private void registerStringLiteralConsumer(Context context) {
+    List<String> words = Stream.of(credentialWords.split(",")).map(String::trim).collect(Collectors.toList());
+    if (words.stream().allMatch(word -> PLAIN_WORD.matcher(word).matches())) {
+      // literal patterns can only match after "<word>=", URLs with credentials contain "://"
+      List<String> keywords = new ArrayList<>();
+      words.forEach(word -> keywords.add(word + "="));
+      keywords.add("://");
+      context.registerStringLiteralConsumer(keywords, ctx -> handleStringLiteral((StringLiteral) ctx.syntaxNode(), ctx));
+    } else {
+      context.registerSyntaxNodeConsumer(Kind.STRING_LITERAL, ctx -> handleStringLiteral((StringLiteral) ctx.syntaxNode(), ctx));
+    }
+  }
+
   private void handleDictionaryLiteral(DictionaryLiteral dictionaryLiteral, SubscriptionContext ctx) {
     for (DictionaryLiteralElement dictionaryLiteralElement : dictionaryLiteral.elements()) {
       if (dictionaryLiteralElement.is(Kind.KEY_VALUE_PAIR)) {
@@ -191,7 +206,7 @@ public class HardCodedCredentialsCheck extends PythonSubscriptionCheck {
     if (isDocString(stringLiteral)) {
       return;
     }
-    if (stringLiteral.stringElements().stream().anyMatch(StringElement::isInterpolated)) {
+    if (stringLiteral.isInterpolated()) {
       return;
     }
     String matchedCredential = matchedCredential(stringLiteral.trimmedQuotesValue(), literalPatterns());
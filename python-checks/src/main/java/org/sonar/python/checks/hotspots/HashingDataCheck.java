@@ -125,13 +125,12 @@ public class HashingDataCheck extends AbstractCallExpressionCheck {
    * make_password(password)  # OK
    */
   @Override
-  protected boolean isException(CallExpression callExpression) {
-    return isDjangoMakePasswordFunctionWithoutSaltAndHasher(callExpression);
+  protected boolean isException(CallExpression callExpression, String calleeFullyQualifiedName) {
+    return isDjangoMakePasswordFunctionWithoutSaltAndHasher(callExpression, calleeFullyQualifiedName);
   }
 
-  private static boolean isDjangoMakePasswordFunctionWithoutSaltAndHasher(CallExpression callExpression) {
-    return callExpression.calleeSymbol() != null
-      && "django.contrib.auth.hashers.make_password".equals(callExpression.calleeSymbol().fullyQualifiedName())
+  private static boolean isDjangoMakePasswordFunctionWithoutSaltAndHasher(CallExpression callExpression, String calleeFullyQualifiedName) {
+    return "django.contrib.auth.hashers.make_password".equals(calleeFullyQualifiedName)
       && callExpression.arguments().size() == 1;
   }
 
@@ -26,7 +26,6 @@ import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.SubscriptionContext;
 import org.sonar.plugins.python.api.tree.ArgList;
 import org.sonar.plugins.python.api.tree.AssignmentStatement;
-import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.ClassDef;
 import org.sonar.plugins.python.api.tree.HasSymbol;
 import org.sonar.plugins.python.api.tree.RegularArgument;
@@ -52,13 +51,7 @@ public class LoggersConfigurationCheck extends PythonSubscriptionCheck {
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> {
-      CallExpression callExpressionTree = (CallExpression) ctx.syntaxNode();
-      Symbol symbol = callExpressionTree.calleeSymbol();
-      if (symbol != null && FUNCTIONS_TO_CHECK.contains(symbol.fullyQualifiedName())) {
-        ctx.addIssue(callExpressionTree, MESSAGE);
-      }
-    });
+    context.registerCallExpressionConsumer(FUNCTIONS_TO_CHECK, ctx -> ctx.addIssue(ctx.syntaxNode(), MESSAGE));
 
     context.registerSyntaxNodeConsumer(Tree.Kind.ASSIGNMENT_STMT, ctx -> isSettingLastResort(ctx, (AssignmentStatement) ctx.syntaxNode()));
 
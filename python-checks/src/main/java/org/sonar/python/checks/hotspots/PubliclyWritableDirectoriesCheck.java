@@ -46,16 +46,19 @@ public class PubliclyWritableDirectoriesCheck extends PythonSubscriptionCheck {
     "/library/caches/", "/users/shared/", "/private/tmp/", "/private/var/tmp/");
   private static final List<String> NONCOMPLIANT_ENVIRON_VARIABLES = Arrays.asList("tmpdir", "tmp");
 
+  // every writable directory contains one of these keywords, backslashes start Windows separators and escape sequences
+  private static final List<String> WRITABLE_DIRECTORY_KEYWORDS = Arrays.asList("tmp", "temp", "/dev/", "/run/", "/library/", "/users/", "\\");
   private static final Pattern WINDOWS_WRITABLE_DIRECTORIES = Pattern.compile("[^\\\\]*\\\\(Windows\\\\Temp|Temp|TMP)(\\\\.*|$)", Pattern.CASE_INSENSITIVE);
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Kind.STRING_ELEMENT, ctx -> {
-      StringElement tree = (StringElement) ctx.syntaxNode();
-      String stringElement = Expressions.unescape(tree).toLowerCase(Locale.ENGLISH);
-      if (UNIX_WRITABLE_DIRECTORIES.stream().anyMatch(dir -> containsDirectory(stringElement, dir)) ||
-        WINDOWS_WRITABLE_DIRECTORIES.matcher(stringElement).matches()) {
-        ctx.addIssue(tree, MESSAGE);
+    context.registerStringLiteralConsumer(WRITABLE_DIRECTORY_KEYWORDS, ctx -> {
+      for (StringElement tree : ((StringLiteral) ctx.syntaxNode()).stringElements()) {
+        String stringElement = Expressions.unescape(tree).toLowerCase(Locale.ENGLISH);
+        if (UNIX_WRITABLE_DIRECTORIES.stream().anyMatch(dir -> containsDirectory(stringElement, dir)) ||
+          WINDOWS_WRITABLE_DIRECTORIES.matcher(stringElement).matches()) {
+          ctx.addIssue(tree, MESSAGE);
+        }
       }
     });
 
@@ -19,6 +19,7 @@
  */
 package org.sonar.python.checks.hotspots;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -54,6 +55,8 @@ public class SQLQueriesCheck extends PythonSubscriptionCheck {
   @Override
   public void initialize(Context context) {
     context.registerSyntaxNodeConsumer(Tree.Kind.FILE_INPUT, this::visitFile);
+    context.registerCallExpressionConsumer(Collections.singleton("django.db.models.expressions.RawSQL"),
+      ctx -> addIssue(ctx, (CallExpression) ctx.syntaxNode()));
     context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, this::checkCallExpression);
   }
 
@@ -97,14 +100,10 @@ public class SQLQueriesCheck extends PythonSubscriptionCheck {
   }
 
   private void checkCallExpression(SubscriptionContext context) {
-    CallExpression callExpression = (CallExpression) context.syntaxNode();
-
-    Symbol symbol = callExpression.calleeSymbol();
-    if (symbol != null && "django.db.models.expressions.RawSQL".equals(symbol.fullyQualifiedName())) {
-      addIssue(context, callExpression);
+    if (!isUsingDjangoModel && !isUsingDjangoDBConnection) {
       return;
     }
-
+    CallExpression callExpression = (CallExpression) context.syntaxNode();
     if (callExpression.callee().is(Tree.Kind.QUALIFIED_EXPR)) {
       String functionName = ((QualifiedExpression) callExpression.callee()).name().name();
       if ((isSQLQueryFromDjangoModel(functionName) || isSQLQueryFromDjangoDBConnection(functionName))
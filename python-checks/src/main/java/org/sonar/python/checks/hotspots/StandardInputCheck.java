@@ -43,12 +43,11 @@ public class StandardInputCheck extends AbstractCallExpressionCheck {
 
   @Override
   public void initialize(Context context) {
+    super.initialize(context);
     context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> {
       CallExpression callExpr = (CallExpression) ctx.syntaxNode();
-      if (questionableFunctionsBuiltIn.contains(getFunctionName(callExpr.callee()))) {
+      if (isBuiltInCall(callExpr)) {
         ctx.addIssue(callExpr, message());
-      } else {
-        visitNode(ctx);
       }
     });
     context.registerSyntaxNodeConsumer(Tree.Kind.NAME, ctx -> {
@@ -62,6 +61,10 @@ public class StandardInputCheck extends AbstractCallExpressionCheck {
     });
   }
 
+  private static boolean isBuiltInCall(CallExpression callExpression) {
+    return questionableFunctionsBuiltIn.contains(getFunctionName(callExpression.callee()));
+  }
+
   private static String getFunctionName(Expression expr) {
     String functionName = "";
     if (expr.is(Tree.Kind.NAME)) {
@@ -71,9 +74,9 @@ public class StandardInputCheck extends AbstractCallExpressionCheck {
   }
 
   @Override
-  protected boolean isException(CallExpression callExpression) {
-    Symbol symbol = callExpression.calleeSymbol();
-    return symbol != null && fileInputFunctions.contains(symbol.fullyQualifiedName()) && !callExpression.arguments().isEmpty();
+  protected boolean isException(CallExpression callExpression, String calleeFullyQualifiedName) {
+    // calls named like built-in functions are reported by their own consumer
+    return isBuiltInCall(callExpression) || (fileInputFunctions.contains(calleeFullyQualifiedName) && !callExpression.arguments().isEmpty());
   }
 
   private static boolean isQuestionablePropertyAccess(Name pyNameTree) {
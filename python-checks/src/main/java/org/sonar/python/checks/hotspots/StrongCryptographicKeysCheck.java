@@ -19,6 +19,7 @@
  */
 package org.sonar.python.checks.hotspots;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 import org.sonar.check.Rule;
@@ -38,32 +39,29 @@ import org.sonar.plugins.python.api.symbols.Symbol;
 @Rule(key = "S4426")
 public class StrongCryptographicKeysCheck extends PythonSubscriptionCheck {
 
-  private static final Pattern CRYPTOGRAPHY = Pattern.compile("cryptography.hazmat.primitives.asymmetric.(rsa|dsa|ec).generate_private_key");
   private static final Pattern CRYPTOGRAPHY_FORBIDDEN_CURVE = Pattern.compile("(SECP192R1|SECT163K1|SECT163R2)");
-  private static final Pattern CRYPTO = Pattern.compile("Crypto.PublicKey.(RSA|DSA).generate");
-  private static final Pattern CRYPTODOME = Pattern.compile("Cryptodome.PublicKey.(RSA|DSA).generate");
+  private static final List<String> CRYPTOGRAPHY_FUNCTIONS = Arrays.asList(
+    "cryptography.hazmat.primitives.asymmetric.rsa.generate_private_key",
+    "cryptography.hazmat.primitives.asymmetric.dsa.generate_private_key",
+    "cryptography.hazmat.primitives.asymmetric.ec.generate_private_key");
+  private static final List<String> CRYPTO_FUNCTIONS = Arrays.asList(
+    "Crypto.PublicKey.RSA.generate",
+    "Crypto.PublicKey.DSA.generate");
+  private static final List<String> CRYPTODOME_FUNCTIONS = Arrays.asList(
+    "Cryptodome.PublicKey.RSA.generate",
+    "Cryptodome.PublicKey.DSA.generate");
 
 
   @Override
   public void initialize(Context context) {
-    context.registerSyntaxNodeConsumer(Kind.CALL_EXPR, ctx -> {
-      CallExpression callExpression = (CallExpression) ctx.syntaxNode();
-      List<Argument> arguments = callExpression.arguments();
-      String qualifiedName = getQualifiedName(callExpression);
-      if (CRYPTOGRAPHY.matcher(qualifiedName).matches()) {
-        new CryptographyModuleCheck().checkArguments(ctx, arguments);
-      } else if (CRYPTO.matcher(qualifiedName).matches()) {
-        new CryptoModuleCheck().checkArguments(ctx, arguments);
-      } else if (CRYPTODOME.matcher(qualifiedName).matches()) {
-        new CryptodomeModuleCheck().checkArguments(ctx, arguments);
-      }
-    });
+    // the module of the callee is known from the names it was dispatched on
+    registerArgumentsCheck(context, CRYPTOGRAPHY_FUNCTIONS, new CryptographyModuleCheck());
+    registerArgumentsCheck(context, CRYPTO_FUNCTIONS, new CryptoModuleCheck());
+    registerArgumentsCheck(context, CRYPTODOME_FUNCTIONS, new CryptodomeModuleCheck());
   }
 
-
-  private static String getQualifiedName(CallExpression callExpression) {
-    Symbol symbol = callExpression.calleeSymbol();
-    return symbol != null && symbol.fullyQualifiedName() != null ? symbol.fullyQualifiedName() : "";
+  private static void registerArgumentsCheck(Context context, List<String> functions, CryptoAPICheck argumentsCheck) {
+    context.registerCallExpressionConsumer(functions, ctx -> argumentsCheck.checkArguments(ctx, ((CallExpression) ctx.syntaxNode()).arguments()));
   }
 
   private abstract static class CryptoAPICheck {
@@ -36,4 +36,11 @@ public class HardCodedCredentialsCheckTest {
     PythonCheckVerifier.verify("src/test/resources/checks/hardCodedCredentialsCustom.py", check);
   }
 
+  @Test
+  public void custom_regular_expression() {
+    HardCodedCredentialsCheck check = new HardCodedCredentialsCheck();
+    check.credentialWords = "(water)?melon";
+    PythonCheckVerifier.verify("src/test/resources/checks/hardCodedCredentialsCustomRegex.py", check);
+  }
+
 }
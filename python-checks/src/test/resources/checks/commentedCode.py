@@ -117,3 +117,22 @@ return a
 '''
 
 # TODO: something
+
+# Noncompliant@+2
+
+# print foo
+
+# Noncompliant@+2
+
+# exec code in namespace
+
+# await some_coroutine
+
+# foo.bar(x) == baz[1] or not qux
+
+# Noncompliant@+2
+
+# foo(x)
+# bar(y)
+
+# see the foo function
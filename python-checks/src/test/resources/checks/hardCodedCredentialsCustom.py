@@ -2,3 +2,5 @@ watermelon = "Qwerty123" # Noncompliant {{"watermelon" detected here, review thi
 pomelo = "Azerty123" # Noncompliant {{"pomelo" detected here, review this potentially hard-coded credential.}}
 
 password = "toto" # OK
+query = 'user=admin&watermelon=Azerty123' # Noncompliant {{"watermelon" detected here, review this potentially hard-coded credential.}}
+query = 'user=admin&password=Azerty123' # OK
@@ -0,0 +1,4 @@
+melon = "Qwerty123" # Noncompliant {{"(water)?melon" detected here, review this potentially hard-coded credential.}}
+query = 'user=admin&watermelon=Azerty123' # Noncompliant {{"(water)?melon" detected here, review this potentially hard-coded credential.}}
+query = 'user=admin&melon=Azerty123' # Noncompliant
+query = 'user=admin&lemon=Azerty123' # OK
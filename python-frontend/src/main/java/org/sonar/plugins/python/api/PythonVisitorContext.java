@@ -27,6 +27,8 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.plugins.python.api.PythonCheck.PreciseIssue;
 import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.python.AnalysisBudget;
+import org.sonar.python.LineIndex;
 import org.sonar.python.semantic.ProjectLevelSymbolTable;
 import org.sonar.python.semantic.SymbolTableBuilder;
 
@@ -37,6 +39,7 @@ public class PythonVisitorContext {
   private File workingDirectory = null;
   private final RecognitionException parsingException;
   private List<PreciseIssue> issues = new ArrayList<>();
+  private LineIndex lineIndex;
 
 
   public PythonVisitorContext(FileInput rootTree, PythonFile pythonFile, @Nullable File workingDirectory, @Nullable String packageName) {
@@ -49,11 +52,22 @@ public class PythonVisitorContext {
   }
 
   public PythonVisitorContext(FileInput rootTree, PythonFile pythonFile, @Nullable File workingDirectory, String packageName, ProjectLevelSymbolTable projectLevelSymbolTable) {
+    this(rootTree, pythonFile, workingDirectory, packageName, projectLevelSymbolTable, AnalysisBudget.unlimited());
+  }
+
+  /**
+   * Symbol table is not computed when the budget is already exceeded, and type inference is skipped when it gets exceeded
+   * while building the symbol table.
+   */
+  public PythonVisitorContext(FileInput rootTree, PythonFile pythonFile, @Nullable File workingDirectory, String packageName,
+                              ProjectLevelSymbolTable projectLevelSymbolTable, AnalysisBudget analysisBudget) {
     this.rootTree = rootTree;
     this.pythonFile = pythonFile;
     this.workingDirectory = workingDirectory;
     this.parsingException = null;
-    new SymbolTableBuilder(packageName, pythonFile, projectLevelSymbolTable).visitFileInput(rootTree);
+    if (!analysisBudget.isExceeded()) {
+      new SymbolTableBuilder(packageName, pythonFile, projectLevelSymbolTable, analysisBudget).visitFileInput(rootTree);
+    }
   }
 
   public PythonVisitorContext(PythonFile pythonFile, RecognitionException parsingException) {
@@ -70,6 +84,16 @@ public class PythonVisitorContext {
     return pythonFile;
   }
 
+  /**
+   * Index of the lines of the file content, built on first call.
+   */
+  public LineIndex lineIndex() {
+    if (lineIndex == null) {
+      lineIndex = new LineIndex(pythonFile.content());
+    }
+    return lineIndex;
+  }
+
   public RecognitionException parsingException() {
     return parsingException;
   }
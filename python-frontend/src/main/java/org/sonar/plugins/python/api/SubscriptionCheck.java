@@ -19,8 +19,14 @@
  */
 package org.sonar.plugins.python.api;
 
+import java.util.Collection;
 import java.util.function.Consumer;
+import org.sonar.plugins.python.api.symbols.Symbol;
+import org.sonar.plugins.python.api.tree.CallExpression;
+import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Tree;
+import org.sonar.python.FullyQualifiedNameRegistry;
+import org.sonar.python.KeywordRegistry;
 
 public interface SubscriptionCheck {
   void initialize(Context context);
@@ -29,5 +35,36 @@ public interface SubscriptionCheck {
 
     void registerSyntaxNodeConsumer(Tree.Kind elementType, Consumer<SubscriptionContext> consumer);
 
+    /**
+     * Registers a consumer of the call expressions whose callee symbol has one of the given fully qualified names.
+     * A name ending with ".*", such as "os.*", matches all the fully qualified names starting with it, such as "os.path.join".
+     * The consumer is called at most once per call expression.
+     */
+    default void registerCallExpressionConsumer(Collection<String> calleeFullyQualifiedNames, Consumer<SubscriptionContext> consumer) {
+      FullyQualifiedNameRegistry<Consumer<SubscriptionContext>> registry = new FullyQualifiedNameRegistry<>();
+      calleeFullyQualifiedNames.forEach(name -> registry.register(name, consumer));
+      registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> {
+        Symbol calleeSymbol = ((CallExpression) ctx.syntaxNode()).calleeSymbol();
+        if (calleeSymbol != null && !registry.matches(calleeSymbol.fullyQualifiedName()).isEmpty()) {
+          consumer.accept(ctx);
+        }
+      });
+    }
+
+    /**
+     * Registers a consumer of the string literals whose value without quotes ({@link StringLiteral#trimmedQuotesValue()})
+     * contains one of the given keywords, ignoring ASCII case.
+     * The consumer is called at most once per string literal.
+     */
+    default void registerStringLiteralConsumer(Collection<String> keywords, Consumer<SubscriptionContext> consumer) {
+      KeywordRegistry<Consumer<SubscriptionContext>> registry = new KeywordRegistry<>();
+      keywords.forEach(keyword -> registry.register(keyword, consumer));
+      registerSyntaxNodeConsumer(Tree.Kind.STRING_LITERAL, ctx -> {
+        if (!registry.matches(((StringLiteral) ctx.syntaxNode()).trimmedQuotesValue()).isEmpty()) {
+          consumer.accept(ctx);
+        }
+      });
+    }
+
   }
 }
@@ -36,6 +36,12 @@ public interface StringElement extends Tree {
 
   String trimmedQuotesValue();
 
+  /**
+   * @return the value without prefix and quotes, where escape sequences are replaced unless this is a raw string.
+   * @see <a href="https://docs.python.org/3/reference/lexical_analysis.html#string-and-bytes-literals">2.4.1. String and Bytes literals</a>
+   */
+  String unescapedValue();
+
   String prefix();
 
   boolean isTripleQuoted();
@@ -29,4 +29,20 @@ public interface StringLiteral extends Expression {
   List<StringElement> stringElements();
 
   String trimmedQuotesValue();
+
+  /**
+   * @return concatenation of the token values of the string elements, including their prefixes and quotes.
+   */
+  String value();
+
+  /**
+   * @return concatenation of the unescaped values of the string elements.
+   * @see StringElement#unescapedValue()
+   */
+  String unescapedValue();
+
+  /**
+   * @return true if one of the string elements is an f-string.
+   */
+  boolean isInterpolated();
 }
@@ -39,6 +39,12 @@ public interface Tree {
 
   List<Tree> children();
 
+  /**
+   * @return a hash of the kinds and token values of the subtree, computed once per tree.
+   * Equivalent trees have the same structural hash: INDENT and DEDENT tokens are ignored, as the indentation of equivalent trees may differ.
+   */
+  int structuralHash();
+
   enum Kind {
     ALIASED_NAME(AliasedName.class),
 
@@ -0,0 +1,96 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.annotation.CheckForNull;
+
+/**
+ * Time budget granted to the analysis of a single file.
+ * The budget is enforced cooperatively: the analysis calls {@link #checkpoint(String)} at the end of each phase
+ * and skips the remaining expensive phases once the budget is exceeded.
+ */
+public class AnalysisBudget {
+
+  private final LongSupplier nanoClock;
+  private final long timeoutNanos;
+  private final long startNanos;
+  // checks of a file may run concurrently on several threads sharing the same budget
+  private volatile String exceededPhase = null;
+
+  AnalysisBudget(long timeoutMillis, LongSupplier nanoClock) {
+    this(timeoutMillis, 0L, nanoClock);
+  }
+
+  AnalysisBudget(long timeoutMillis, long spentNanos, LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    this.startNanos = timeoutNanos > 0 ? (nanoClock.getAsLong() - spentNanos) : 0L;
+  }
+
+  /**
+   * Budget that is never exceeded.
+   */
+  public static AnalysisBudget unlimited() {
+    return new AnalysisBudget(0, System::nanoTime);
+  }
+
+  /**
+   * Starts a budget of the given duration. A timeout lower or equal to zero means no limit.
+   */
+  public static AnalysisBudget startingNow(long timeoutMillis) {
+    return new AnalysisBudget(timeoutMillis, System::nanoTime);
+  }
+
+  /**
+   * Starts a budget of which {@code spentNanos} were already consumed, by phases executed ahead of time.
+   */
+  public static AnalysisBudget startingNow(long timeoutMillis, long spentNanos) {
+    return new AnalysisBudget(timeoutMillis, spentNanos, System::nanoTime);
+  }
+
+  /**
+   * To be called when {@code phase} is over.
+   * Returns false if the budget was exceeded, either during this phase or a previous one.
+   */
+  public boolean checkpoint(String phase) {
+    if (exceededPhase == null && timeoutNanos > 0 && nanoClock.getAsLong() - startNanos > timeoutNanos) {
+      exceededPhase = phase;
+    }
+    return exceededPhase == null;
+  }
+
+  public boolean isExceeded() {
+    return exceededPhase != null;
+  }
+
+  /**
+   * Returns the phase during which the budget was exceeded, null if it was not exceeded.
+   */
+  @CheckForNull
+  public String exceededPhase() {
+    return exceededPhase;
+  }
+
+  public long timeoutMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+  }
+}
@@ -19,12 +19,21 @@
  */
 package org.sonar.python;
 
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.TokenType;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import javax.annotation.Nullable;
 import org.sonar.plugins.python.api.tree.ExpressionStatement;
 import org.sonar.plugins.python.api.tree.Statement;
 import org.sonar.plugins.python.api.tree.StatementList;
 import org.sonar.plugins.python.api.tree.StringLiteral;
+import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
+import org.sonar.python.api.PythonKeyword;
+import org.sonar.python.api.PythonPunctuator;
+import org.sonar.python.api.PythonTokenType;
 
 /**
  * Extractor of docstring tokens.
@@ -47,4 +56,63 @@ public class DocstringExtractor {
     }
     return null;
   }
+
+  /**
+   * Finds docstring tokens using only the token sequence of a file, i.e. without building its syntax tree.
+   * Docstrings are made of string tokens which form the whole first statement of the module or of the body of a
+   * function or class definition.
+   */
+  public static Set<Token> docstringTokens(List<Token> tokens) {
+    Set<Token> docstringTokens = new HashSet<>();
+    int moduleStart = 0;
+    while (moduleStart < tokens.size() && tokens.get(moduleStart).type().equals(PythonTokenType.NEWLINE)) {
+      moduleStart++;
+    }
+    addDocstringTokens(tokens, moduleStart, docstringTokens);
+
+    boolean inDefinitionHeader = false;
+    int nestingLevel = 0;
+    for (int i = 0; i < tokens.size(); i++) {
+      TokenType type = tokens.get(i).type();
+      if (type.equals(PythonKeyword.DEF) || type.equals(PythonKeyword.CLASS)) {
+        inDefinitionHeader = true;
+        nestingLevel = 0;
+      } else if (inDefinitionHeader) {
+        if (type.equals(PythonPunctuator.LPARENTHESIS) || type.equals(PythonPunctuator.LBRACKET) || type.equals(PythonPunctuator.LCURLYBRACE)) {
+          nestingLevel++;
+        } else if (type.equals(PythonPunctuator.RPARENTHESIS) || type.equals(PythonPunctuator.RBRACKET) || type.equals(PythonPunctuator.RCURLYBRACE)) {
+          nestingLevel--;
+        } else if (type.equals(PythonPunctuator.COLON) && nestingLevel == 0) {
+          inDefinitionHeader = false;
+          addDocstringTokens(tokens, bodyStart(tokens, i + 1), docstringTokens);
+        }
+      }
+    }
+    return docstringTokens;
+  }
+
+  private static int bodyStart(List<Token> tokens, int afterColon) {
+    int index = afterColon;
+    if (index < tokens.size() && tokens.get(index).type().equals(PythonTokenType.NEWLINE)) {
+      index++;
+      if (index < tokens.size() && tokens.get(index).type().equals(PythonTokenType.INDENT)) {
+        index++;
+      }
+    }
+    return index;
+  }
+
+  private static void addDocstringTokens(List<Token> tokens, int statementStart, Set<Token> docstringTokens) {
+    int end = statementStart;
+    while (end < tokens.size() && tokens.get(end).type().equals(PythonTokenType.STRING)) {
+      end++;
+    }
+    if (end > statementStart && end < tokens.size() && isEndOfStatement(tokens.get(end).type())) {
+      docstringTokens.addAll(tokens.subList(statementStart, end));
+    }
+  }
+
+  private static boolean isEndOfStatement(TokenType type) {
+    return type.equals(PythonTokenType.NEWLINE) || type.equals(PythonPunctuator.SEMICOLON) || type.equals(GenericTokenType.EOF);
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Values indexed by fully qualified names, such as "os.system", or by prefixes of fully qualified names, such as "os.*".
+ * The cost of a lookup depends on the number of segments of the searched name, not on the number of registered names.
+ */
+public class FullyQualifiedNameRegistry<T> {
+
+  private static final String PREFIX_SUFFIX = ".*";
+
+  private final Map<String, List<T>> valuesByName = new HashMap<>();
+  private final Map<String, List<T>> valuesByPrefix = new HashMap<>();
+
+  public void register(String fullyQualifiedNameOrPrefix, T value) {
+    if (fullyQualifiedNameOrPrefix.endsWith(PREFIX_SUFFIX)) {
+      // the prefix is stored with its trailing dot
+      String prefix = fullyQualifiedNameOrPrefix.substring(0, fullyQualifiedNameOrPrefix.length() - 1);
+      valuesByPrefix.computeIfAbsent(prefix, p -> new ArrayList<>()).add(value);
+    } else {
+      valuesByName.computeIfAbsent(fullyQualifiedNameOrPrefix, n -> new ArrayList<>()).add(value);
+    }
+  }
+
+  public boolean isEmpty() {
+    return valuesByName.isEmpty() && valuesByPrefix.isEmpty();
+  }
+
+  /**
+   * Returns the values registered for the given name or for one of its prefixes, in registration order per name or prefix
+   * and without duplicates.
+   */
+  public Set<T> matches(@Nullable String fullyQualifiedName) {
+    if (fullyQualifiedName == null) {
+      return Collections.emptySet();
+    }
+    Set<T> result = null;
+    List<T> values = valuesByName.get(fullyQualifiedName);
+    if (values != null) {
+      result = new LinkedHashSet<>(values);
+    }
+    if (!valuesByPrefix.isEmpty()) {
+      int dot = fullyQualifiedName.indexOf('.');
+      while (dot >= 0) {
+        List<T> prefixValues = valuesByPrefix.get(fullyQualifiedName.substring(0, dot + 1));
+        if (prefixValues != null) {
+          if (result == null) {
+            result = new LinkedHashSet<>();
+          }
+          result.addAll(prefixValues);
+        }
+        dot = fullyQualifiedName.indexOf('.', dot + 1);
+      }
+    }
+    return result == null ? Collections.emptySet() : result;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Values indexed by keywords which are searched, ignoring ASCII case, inside a text.
+ * All the keywords are searched in a single pass over the text (Aho-Corasick automaton), so the cost of a search depends
+ * on the length of the text, not on the number of registered keywords.
+ */
+public class KeywordRegistry<T> {
+
+  private final Map<String, List<T>> valuesByKeyword = new HashMap<>();
+
+  // automaton, built on first search after a registration
+  private List<Map<Character, Integer>> transitions;
+  private int[] failures;
+  private List<List<T>> outputs;
+
+  public void register(String keyword, T value) {
+    if (keyword.isEmpty()) {
+      throw new IllegalArgumentException("Keyword should not be empty");
+    }
+    valuesByKeyword.computeIfAbsent(toLowerCase(keyword), k -> new ArrayList<>()).add(value);
+    transitions = null;
+  }
+
+  public boolean isEmpty() {
+    return valuesByKeyword.isEmpty();
+  }
+
+  /**
+   * Returns the values registered for the keywords contained in the given text, without duplicates.
+   */
+  public Set<T> matches(CharSequence text) {
+    if (valuesByKeyword.isEmpty()) {
+      return Collections.emptySet();
+    }
+    if (transitions == null) {
+      build();
+    }
+    Set<T> result = null;
+    int state = 0;
+    for (int i = 0; i < text.length(); i++) {
+      state = next(state, toLowerCase(text.charAt(i)));
+      List<T> values = outputs.get(state);
+      if (!values.isEmpty()) {
+        if (result == null) {
+          result = new LinkedHashSet<>();
+        }
+        result.addAll(values);
+      }
+    }
+    return result == null ? Collections.emptySet() : result;
+  }
+
+  private int next(int state, char c) {
+    int current = state;
+    Integer target = transitions.get(current).get(c);
+    while (target == null && current != 0) {
+      current = failures[current];
+      target = transitions.get(current).get(c);
+    }
+    return target == null ? 0 : target;
+  }
+
+  private void build() {
+    transitions = new ArrayList<>();
+    outputs = new ArrayList<>();
+    addState();
+    for (Map.Entry<String, List<T>> entry : valuesByKeyword.entrySet()) {
+      int state = 0;
+      for (char c : entry.getKey().toCharArray()) {
+        Integer target = transitions.get(state).get(c);
+        if (target == null) {
+          target = addState();
+          transitions.get(state).put(c, target);
+        }
+        state = target;
+      }
+      outputs.get(state).addAll(entry.getValue());
+    }
+    // failure links are computed breadth first: the failure of a state is known before the ones of its children.
+    // States reached from the initial state in one step fail to the initial state.
+    failures = new int[transitions.size()];
+    Deque<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+        int child = transition.getValue();
+        int failure = next(failures[state], transition.getKey());
+        failures[child] = failure;
+        outputs.get(child).addAll(outputs.get(failure));
+        queue.add(child);
+      }
+    }
+  }
+
+  private int addState() {
+    transitions.add(new HashMap<>());
+    outputs.add(new ArrayList<>());
+    return transitions.size() - 1;
+  }
+
+  private static String toLowerCase(String keyword) {
+    StringBuilder sb = new StringBuilder(keyword.length());
+    for (int i = 0; i < keyword.length(); i++) {
+      sb.append(toLowerCase(keyword.charAt(i)));
+    }
+    return sb.toString();
+  }
+
+  private static char toLowerCase(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import java.util.Arrays;
+
+/**
+ * Start offsets of the lines of a file content, where lines are separated by "\r\n", "\n" or "\r".
+ * Lines are numbered from 1, offsets and line offsets from 0. Line lengths and texts exclude line terminators.
+ */
+public class LineIndex {
+
+  private final String content;
+  // start offset of each line, followed by the length of the content plus one
+  private final int[] lineStarts;
+  private final int lineCount;
+
+  public LineIndex(String content) {
+    this.content = content;
+    int[] starts = new int[16];
+    int count = 1;
+    int length = content.length();
+    int i = 0;
+    while (i < length) {
+      char c = content.charAt(i);
+      i++;
+      if (c == '\r' && i < length && content.charAt(i) == '\n') {
+        i++;
+      }
+      if (c == '\n' || c == '\r') {
+        if (count + 1 >= starts.length) {
+          starts = Arrays.copyOf(starts, starts.length * 2);
+        }
+        starts[count] = i;
+        count++;
+      }
+    }
+    starts[count] = length + 1;
+    this.lineStarts = starts;
+    this.lineCount = count;
+  }
+
+  public int lineCount() {
+    return lineCount;
+  }
+
+  public int lineStart(int line) {
+    checkLine(line);
+    return lineStarts[line - 1];
+  }
+
+  /**
+   * Offset of the end of the line, before its line terminator.
+   */
+  public int lineEnd(int line) {
+    checkLine(line);
+    int end = lineStarts[line] - 1;
+    if (line < lineCount && content.charAt(end) == '\n' && end > lineStarts[line - 1] && content.charAt(end - 1) == '\r') {
+      end--;
+    }
+    return end;
+  }
+
+  public int lineLength(int line) {
+    return lineEnd(line) - lineStart(line);
+  }
+
+  public String lineText(int line) {
+    return content.substring(lineStart(line), lineEnd(line));
+  }
+
+  /**
+   * Line containing the given offset. The offset of a line terminator belongs to the line it terminates.
+   */
+  public int line(int offset) {
+    if (offset < 0 || offset > content.length()) {
+      throw new IllegalArgumentException("Offset " + offset + " is out of range [0, " + content.length() + "]");
+    }
+    int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+    return index >= 0 ? (index + 1) : -(index + 1);
+  }
+
+  public int lineOffset(int offset) {
+    return offset - lineStarts[line(offset) - 1];
+  }
+
+  public String content() {
+    return content;
+  }
+
+  private void checkLine(int line) {
+    if (line < 1 || line > lineCount) {
+      throw new IllegalArgumentException("Line " + line + " is out of range [1, " + lineCount + "]");
+    }
+  }
+}
@@ -24,9 +24,14 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
@@ -36,51 +41,157 @@ import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonFile;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
+import org.sonar.plugins.python.api.SubscriptionCheck;
 import org.sonar.plugins.python.api.SubscriptionContext;
 import org.sonar.plugins.python.api.symbols.Symbol;
+import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.plugins.python.api.tree.Tree.Kind;
+import org.sonar.python.tree.TreeIndex;
 import org.sonar.python.types.TypeShed;
 
 public class SubscriptionVisitor {
 
+  private static final String BUDGET_PHASE = "rules execution";
+
   private final EnumMap<Kind, List<SubscriptionContextImpl>> consumers = new EnumMap<>(Kind.class);
+  private final FullyQualifiedNameRegistry<SubscriptionContextImpl> callExpressionConsumers = new FullyQualifiedNameRegistry<>();
+  private final KeywordRegistry<SubscriptionContextImpl> stringLiteralConsumers = new KeywordRegistry<>();
   private final PythonVisitorContext pythonVisitorContext;
+  private final Consumer<PythonCheck.PreciseIssue> issueConsumer;
   private Tree currentElement;
 
   public static void analyze(Collection<PythonSubscriptionCheck> checks, PythonVisitorContext pythonVisitorContext) {
-    SubscriptionVisitor subscriptionVisitor = new SubscriptionVisitor(checks, pythonVisitorContext);
+    analyze(checks, pythonVisitorContext, AnalysisBudget.unlimited());
+  }
+
+  /**
+   * Visit stops as soon as the budget is exceeded. In such case, {@link PythonSubscriptionCheck#leaveFile()} is not called
+   * as the checks only saw part of the file.
+   */
+  public static void analyze(Collection<PythonSubscriptionCheck> checks, PythonVisitorContext pythonVisitorContext, AnalysisBudget analysisBudget) {
+    analyze(checks, pythonVisitorContext, analysisBudget, null);
+  }
+
+  /**
+   * When a pool with a parallelism greater than one is given, checks are partitioned into as many groups and the traversal
+   * of each group runs concurrently on the pool. The tree, its symbols and its types are only read at this point.
+   * Issues are added to the context grouped by check, in the order of {@code checks}, whatever the number of groups.
+   * When the budget is exceeded, {@link PythonSubscriptionCheck#leaveFile()} is only called on the groups which completed their traversal.
+   */
+  public static void analyze(Collection<PythonSubscriptionCheck> checks, PythonVisitorContext pythonVisitorContext, AnalysisBudget analysisBudget,
+    @Nullable ForkJoinPool pool) {
+    FileInput rootTree = pythonVisitorContext.rootTree();
+    int groupCount = pool == null ? 1 : Math.min(pool.getParallelism(), checks.size());
+    if (rootTree == null || groupCount <= 1) {
+      scanGroup(checks, pythonVisitorContext, pythonVisitorContext::addIssue, analysisBudget);
+      return;
+    }
+    List<List<PythonSubscriptionCheck>> groups = new ArrayList<>();
+    List<List<PythonCheck.PreciseIssue>> issuesByGroup = new ArrayList<>();
+    for (int i = 0; i < groupCount; i++) {
+      groups.add(new ArrayList<>());
+      issuesByGroup.add(new ArrayList<>());
+    }
+    Map<PythonCheck, Integer> checkIndexes = new IdentityHashMap<>();
+    for (PythonSubscriptionCheck check : checks) {
+      int checkIndex = checkIndexes.size();
+      checkIndexes.put(check, checkIndex);
+      groups.get(checkIndex % groupCount).add(check);
+    }
+    // descendant queries of the checks rely on the tree index, it is built once before the tree is shared between threads
+    TreeIndex.of(rootTree);
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (int i = 0; i < groupCount; i++) {
+      List<PythonSubscriptionCheck> group = groups.get(i);
+      List<PythonCheck.PreciseIssue> groupIssues = issuesByGroup.get(i);
+      tasks.add(ForkJoinTask.adapt(() -> scanGroup(group, pythonVisitorContext, groupIssues::add, analysisBudget)));
+    }
+    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    List<PythonCheck.PreciseIssue> issues = new ArrayList<>();
+    issuesByGroup.forEach(issues::addAll);
+    issues.sort(Comparator.comparingInt(issue -> checkIndexes.getOrDefault(issue.check(), -1)));
+    issues.forEach(pythonVisitorContext::addIssue);
+  }
+
+  private static void scanGroup(Collection<PythonSubscriptionCheck> checks, PythonVisitorContext pythonVisitorContext,
+    Consumer<PythonCheck.PreciseIssue> issueConsumer, AnalysisBudget analysisBudget) {
+    SubscriptionVisitor subscriptionVisitor = new SubscriptionVisitor(checks, pythonVisitorContext, issueConsumer);
     FileInput rootTree = pythonVisitorContext.rootTree();
-    if (rootTree != null) {
-      subscriptionVisitor.scan(rootTree);
+    if (rootTree != null && subscriptionVisitor.scan(rootTree, analysisBudget)) {
       checks.forEach(PythonSubscriptionCheck::leaveFile);
     }
   }
 
-  private SubscriptionVisitor(Collection<PythonSubscriptionCheck> checks, PythonVisitorContext pythonVisitorContext) {
+  private SubscriptionVisitor(Collection<PythonSubscriptionCheck> checks, PythonVisitorContext pythonVisitorContext,
+    Consumer<PythonCheck.PreciseIssue> issueConsumer) {
     this.pythonVisitorContext = pythonVisitorContext;
+    this.issueConsumer = issueConsumer;
     for (PythonSubscriptionCheck check : checks) {
-      check.initialize((elementType, consumer) -> {
-        List<SubscriptionContextImpl> elementConsumers = consumers.computeIfAbsent(elementType, c -> new ArrayList<>());
-        elementConsumers.add(new SubscriptionContextImpl(check, consumer));
+      check.initialize(new SubscriptionCheck.Context() {
+        @Override
+        public void registerSyntaxNodeConsumer(Kind elementType, Consumer<SubscriptionContext> consumer) {
+          List<SubscriptionContextImpl> elementConsumers = consumers.computeIfAbsent(elementType, c -> new ArrayList<>());
+          elementConsumers.add(new SubscriptionContextImpl(check, consumer));
+        }
+
+        @Override
+        public void registerCallExpressionConsumer(Collection<String> calleeFullyQualifiedNames, Consumer<SubscriptionContext> consumer) {
+          SubscriptionContextImpl subscriptionContext = new SubscriptionContextImpl(check, consumer);
+          calleeFullyQualifiedNames.forEach(name -> callExpressionConsumers.register(name, subscriptionContext));
+        }
+
+        @Override
+        public void registerStringLiteralConsumer(Collection<String> keywords, Consumer<SubscriptionContext> consumer) {
+          SubscriptionContextImpl subscriptionContext = new SubscriptionContextImpl(check, consumer);
+          keywords.forEach(keyword -> stringLiteralConsumers.register(keyword, subscriptionContext));
+        }
       });
     }
   }
 
-  private void scan(Tree element) {
+  /**
+   * Consumers registered by fully qualified name of callee are found from the callee symbol, resolved once per call expression.
+   */
+  private void executeCallExpressionConsumers() {
+    Symbol calleeSymbol = ((CallExpression) currentElement).calleeSymbol();
+    if (calleeSymbol != null) {
+      callExpressionConsumers.matches(calleeSymbol.fullyQualifiedName()).forEach(SubscriptionContextImpl::execute);
+    }
+  }
+
+  /**
+   * Keywords of all the consumers registered on string literals are searched in a single pass over the literal value.
+   */
+  private void executeStringLiteralConsumers() {
+    stringLiteralConsumers.matches(((StringLiteral) currentElement).trimmedQuotesValue()).forEach(SubscriptionContextImpl::execute);
+  }
+
+  private boolean scan(Tree element, AnalysisBudget analysisBudget) {
     Deque<Tree> stack = new ArrayDeque<>();
     stack.push(element);
     while (!stack.isEmpty()) {
+      if (!analysisBudget.checkpoint(BUDGET_PHASE)) {
+        return false;
+      }
       currentElement = stack.pop();
       consumers.getOrDefault(currentElement.getKind(), Collections.emptyList()).forEach(SubscriptionContextImpl::execute);
+      if (currentElement.is(Kind.CALL_EXPR) && !callExpressionConsumers.isEmpty()) {
+        executeCallExpressionConsumers();
+      }
+      if (currentElement.is(Kind.STRING_LITERAL) && !stringLiteralConsumers.isEmpty()) {
+        executeStringLiteralConsumers();
+      }
       for (int i = currentElement.children().size() - 1; i >= 0; i--) {
         if (currentElement.children().get(i) != null) {
           stack.push(currentElement.children().get(i));
         }
       }
     }
+    return true;
   }
 
   private class SubscriptionContextImpl implements SubscriptionContext {
@@ -133,7 +244,7 @@ public class SubscriptionVisitor {
 
     private PythonCheck.PreciseIssue addIssue(IssueLocation issueLocation) {
       PythonCheck.PreciseIssue newIssue = new PythonCheck.PreciseIssue(check, issueLocation);
-      pythonVisitorContext.addIssue(newIssue);
+      issueConsumer.accept(newIssue);
       return newIssue;
     }
 
@@ -33,16 +33,59 @@ public class TokenLocation {
     this.startLineOffset = token.column();
 
     String value = token.value();
-    String[] lines = value.split("\r\n|\n|\r", -1);
+    int line = startLine;
+    int lineStart = 0;
+    int length = value.length();
+    int i = 0;
+    while (i < length) {
+      char c = value.charAt(i);
+      i++;
+      if (c == '\r' && i < length && value.charAt(i) == '\n') {
+        i++;
+      }
+      if (c == '\n' || c == '\r') {
+        line++;
+        lineStart = i;
+      }
+    }
+    this.endLine = line;
+    this.endLineOffset = line == startLine ? (startLineOffset + length) : (length - lineStart);
+  }
 
-    if (lines.length > 1) {
-      endLine = token.line() + lines.length - 1;
-      endLineOffset = lines[lines.length - 1].length();
+  /**
+   * Computes the end of the token from the line index of the file containing it, without scanning the token value.
+   * Falls back to {@link #TokenLocation(Token)} when the token value does not end at the same place in the file content:
+   * the value of a NEWLINE token is "\n" whatever the line terminator, and the new line added at the end of a file is not in the content.
+   */
+  public TokenLocation(Token token, LineIndex fileLineIndex) {
+    this.startLine = token.line();
+    this.startLineOffset = token.column();
 
+    int length = token.value().length();
+    int endOffset = startLine <= fileLineIndex.lineCount() ? (fileLineIndex.lineStart(startLine) + startLineOffset + length) : -1;
+    int line = endLine(fileLineIndex, startLine, endOffset);
+    if (line < 0) {
+      TokenLocation location = new TokenLocation(token);
+      this.endLine = location.endLine;
+      this.endLineOffset = location.endLineOffset;
     } else {
-      this.endLine = this.startLine;
-      this.endLineOffset = this.startLineOffset + token.value().length();
+      this.endLine = line;
+      this.endLineOffset = endOffset - fileLineIndex.lineStart(line);
+    }
+  }
+
+  /**
+   * Line where the given end offset is, or -1 when the offset is not in the content or is in a line terminator.
+   */
+  private static int endLine(LineIndex fileLineIndex, int startLine, int endOffset) {
+    if (endOffset < 0 || endOffset > fileLineIndex.content().length()) {
+      return -1;
+    }
+    if (endOffset <= fileLineIndex.lineEnd(startLine)) {
+      return startLine;
     }
+    int line = fileLineIndex.line(endOffset);
+    return endOffset <= fileLineIndex.lineEnd(line) ? line : -1;
   }
 
   public int startLine() {
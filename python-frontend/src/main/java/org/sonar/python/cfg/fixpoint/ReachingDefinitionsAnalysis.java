@@ -74,7 +74,7 @@ public class ReachingDefinitionsAnalysis {
       return assignedExpressions;
     }
     FunctionDef enclosingFunction = (FunctionDef) TreeUtils.firstAncestorOfKind(variable, FUNCDEF);
-    if (enclosingFunction == null || TreeUtils.hasDescendant(enclosingFunction, t -> t.is(TRY_STMT))) {
+    if (enclosingFunction == null || TreeUtils.hasDescendantOfKind(enclosingFunction, TRY_STMT)) {
       return Collections.emptySet();
     }
     ControlFlowGraph cfg = ControlFlowGraph.build(enclosingFunction, pythonFile);
@@ -0,0 +1,73 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python.lexer;
+
+import com.sonar.sslr.api.Token;
+import com.sonar.sslr.impl.Lexer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.sonar.python.api.PythonTokenType;
+import org.sonar.python.tree.TokenImpl;
+
+/**
+ * Produces the token sequence of a Python file without building its syntax tree.
+ * Instances are not thread-safe but can be reused for several files.
+ */
+public class PythonTokenizer {
+
+  private final LexerState lexerState = new LexerState();
+  private final Lexer lexer = PythonLexer.create(lexerState);
+
+  public List<org.sonar.plugins.python.api.tree.Token> tokenize(String source) {
+    return lex(source).stream().map(TokenImpl::new).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the SSLR tokens of the given source, as expected by {@link org.sonar.python.parser.PythonParser#parse(List)}.
+   */
+  public List<Token> lex(String source) {
+    lexerState.reset();
+    lexer.lex(source);
+    return closeIndentations(lexer.getTokens(), lexerState);
+  }
+
+  /**
+   * Adds the DEDENT tokens which are still expected at the end of the file before the EOF token.
+   */
+  public static List<Token> closeIndentations(List<Token> tokens, LexerState lexerState) {
+    if (lexerState.indentationStack.peek() > 0) {
+      Token eofToken = tokens.get(tokens.size() - 1);
+      tokens = new ArrayList<>(tokens.subList(0, tokens.size() - 1));
+      while (lexerState.indentationStack.peek() > 0) {
+        lexerState.indentationStack.pop();
+        tokens.add(Token.builder()
+          .setURI(eofToken.getURI())
+          .setType(PythonTokenType.DEDENT)
+          .setLine(eofToken.getLine())
+          .setColumn(eofToken.getColumn())
+          .setValueAndOriginalValue("")
+          .build());
+      }
+      tokens.add(eofToken);
+    }
+    return tokens;
+  }
+}
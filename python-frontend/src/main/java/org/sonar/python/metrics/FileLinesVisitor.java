@@ -21,10 +21,11 @@ package org.sonar.python.metrics;
 
 import com.sonar.sslr.api.GenericTokenType;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
@@ -37,6 +38,7 @@ import org.sonar.plugins.python.api.tree.StringLiteral;
 import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.plugins.python.api.tree.Trivia;
+import org.sonar.python.LineIndex;
 import org.sonar.python.SubscriptionVisitor;
 import org.sonar.python.TokenLocation;
 import org.sonar.python.api.PythonTokenType;
@@ -55,16 +57,18 @@ public class FileLinesVisitor extends PythonSubscriptionCheck {
     Tree.Kind.PASS_STMT, Tree.Kind.FOR_STMT, Tree.Kind.WHILE_STMT, Tree.Kind.IF_STMT, Tree.Kind.RAISE_STMT, Tree.Kind.TRY_STMT, Tree.Kind.EXCEPT_CLAUSE,
     Tree.Kind.EXEC_STMT, Tree.Kind.ASSERT_STMT, Tree.Kind.DEL_STMT, Tree.Kind.GLOBAL_STMT, Tree.Kind.CLASSDEF, Tree.Kind.FUNCDEF, Tree.Kind.FILE_INPUT);
 
-  private Set<Integer> noSonar = new HashSet<>();
-  private Set<Integer> linesOfCode = new HashSet<>();
-  private Set<Integer> linesOfComments = new HashSet<>();
-  private Set<Integer> linesOfDocstring = new HashSet<>();
-  private Set<Integer> executableLines = new HashSet<>();
+  private final BitSet noSonar = new BitSet();
+  private final BitSet linesOfCode = new BitSet();
+  private final BitSet linesOfComments = new BitSet();
+  private final BitSet linesOfDocstring = new BitSet();
+  private final BitSet executableLines = new BitSet();
   private int statements = 0;
   private int classDefs = 0;
+  private LineIndex lineIndex;
 
   @Override
   public void scanFile(PythonVisitorContext visitorContext) {
+    lineIndex = visitorContext.lineIndex();
     SubscriptionVisitor.analyze(Collections.singleton(this), visitorContext);
   }
 
@@ -97,20 +101,34 @@ public class FileLinesVisitor extends PythonSubscriptionCheck {
       handleDocString(((FunctionDef) tree).docstring());
     }
     statements++;
-    executableLines.add(tree.firstToken().line());
+    executableLines.set(tree.firstToken().line());
   }
 
   private void handleDocString(@Nullable StringLiteral docstring) {
     if (docstring != null) {
       for (Tree stringElement : docstring.children()) {
-        TokenLocation location = new TokenLocation(stringElement.firstToken());
-        for (int line = location.startLine(); line <= location.endLine(); line++) {
-          linesOfDocstring.add(line);
-        }
+        addDocstringLines(stringElement.firstToken());
       }
     }
   }
 
+  private void addDocstringLines(Token docstringToken) {
+    TokenLocation location = new TokenLocation(docstringToken, lineIndex);
+    linesOfDocstring.set(location.startLine(), location.endLine() + 1);
+  }
+
+  /**
+   * Computes lines of code, comment lines and NOSONAR lines from the token sequence of a file, without syntax tree.
+   * Executable lines, statements and class definitions are not computed in such case.
+   */
+  public void scanTokens(List<Token> tokens, Set<Token> docstringTokens, LineIndex fileLineIndex) {
+    lineIndex = fileLineIndex;
+    visitFile();
+    tokens.forEach(this::visitToken);
+    docstringTokens.forEach(this::addDocstringLines);
+    leaveFile();
+  }
+
   /**
    * Gets the lines of codes and lines of comments (with character #).
    * Does not get the lines of docstrings.
@@ -122,11 +140,8 @@ public class FileLinesVisitor extends PythonSubscriptionCheck {
 
     if (!token.type().equals(PythonTokenType.DEDENT) && !token.type().equals(PythonTokenType.INDENT) && !token.type().equals(PythonTokenType.NEWLINE)) {
       // Handle all the lines of the token
-      String[] tokenLines = token.value().split("\n", -1);
       int tokenLine = token.line();
-      for (int line = tokenLine; line < tokenLine + tokenLines.length; line++) {
-        linesOfCode.add(line);
-      }
+      linesOfCode.set(tokenLine, tokenLine + numberOfLineBreaks(token.value()) + 1);
     }
 
     for (Trivia trivia : token.trivia()) {
@@ -138,37 +153,53 @@ public class FileLinesVisitor extends PythonSubscriptionCheck {
     String commentLine = getContents(trivia.token().value());
     int line = trivia.token().line();
     if (commentLine.contains("NOSONAR")) {
-      linesOfComments.remove(line);
-      noSonar.add(line);
+      linesOfComments.clear(line);
+      noSonar.set(line);
     } else if (!isBlank(commentLine)) {
-      linesOfComments.add(line);
+      linesOfComments.set(line);
     }
   }
 
   @Override
   public void leaveFile() {
     // account for the docstring lines
-    for (Integer line : linesOfDocstring) {
-      executableLines.remove(line);
-      linesOfCode.remove(line);
-      linesOfComments.add(line);
-    }
+    executableLines.andNot(linesOfDocstring);
+    linesOfCode.andNot(linesOfDocstring);
+    linesOfComments.or(linesOfDocstring);
   }
 
   public Set<Integer> getLinesWithNoSonar() {
-    return Collections.unmodifiableSet(noSonar);
+    return toSet(noSonar);
   }
 
   public Set<Integer> getLinesOfCode() {
-    return Collections.unmodifiableSet(linesOfCode);
+    return toSet(linesOfCode);
+  }
+
+  public int getLinesOfCodeCount() {
+    return linesOfCode.cardinality();
   }
 
   public int getCommentLineCount() {
-    return linesOfComments.size();
+    return linesOfComments.cardinality();
   }
 
   public Set<Integer> getExecutableLines() {
-    return Collections.unmodifiableSet(executableLines);
+    return toSet(executableLines);
+  }
+
+  private static Set<Integer> toSet(BitSet lines) {
+    return Collections.unmodifiableSet(lines.stream().boxed().collect(Collectors.toSet()));
+  }
+
+  private static int numberOfLineBreaks(String value) {
+    int count = 0;
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) == '\n') {
+        count++;
+      }
+    }
+    return count;
   }
 
   private static boolean isBlank(String line) {
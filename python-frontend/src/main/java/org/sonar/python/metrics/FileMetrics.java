@@ -19,18 +19,19 @@
  */
 package org.sonar.python.metrics;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import org.sonar.plugins.python.api.PythonVisitorContext;
 import org.sonar.plugins.python.api.tree.FileInput;
 import org.sonar.plugins.python.api.tree.FunctionDef;
-import org.sonar.plugins.python.api.tree.BaseTreeVisitor;
 
 public class FileMetrics {
 
   private int numberOfStatements;
   private int numberOfClasses;
-  private final ComplexityVisitor complexityVisitor = new ComplexityVisitor();
+  private final FileComplexityVisitor complexityVisitor = new FileComplexityVisitor();
   private final CognitiveComplexityVisitor cognitiveComplexityVisitor = new CognitiveComplexityVisitor(null);
   private final FileLinesVisitor fileLinesVisitor;
   private List<Integer> functionComplexities = new ArrayList<>();
@@ -43,14 +44,28 @@ public class FileMetrics {
     numberOfClasses = fileLinesVisitor.getClassDefs();
     fileInput.accept(complexityVisitor);
     fileInput.accept(cognitiveComplexityVisitor);
-    fileInput.accept(new FunctionVisitor());
   }
 
-  private class FunctionVisitor extends BaseTreeVisitor {
+  /**
+   * Computes the complexity of the file and of each of its functions in a single traversal.
+   * The complexity of a function does not include the complexity of its nested functions.
+   */
+  private class FileComplexityVisitor extends ComplexityVisitor {
+
+    private final Deque<int[]> nestedFunctionsComplexity = new ArrayDeque<>();
+
     @Override
     public void visitFunctionDef(FunctionDef pyFunctionDefTree) {
-      functionComplexities.add(ComplexityVisitor.complexity(pyFunctionDefTree));
+      int index = functionComplexities.size();
+      functionComplexities.add(0);
+      int complexityBefore = getComplexity();
+      nestedFunctionsComplexity.push(new int[] {0});
       super.visitFunctionDef(pyFunctionDefTree);
+      int functionComplexity = getComplexity() - complexityBefore;
+      functionComplexities.set(index, functionComplexity - nestedFunctionsComplexity.pop()[0]);
+      if (!nestedFunctionsComplexity.isEmpty()) {
+        nestedFunctionsComplexity.peek()[0] += functionComplexity;
+      }
     }
   }
 
@@ -0,0 +1,75 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python.parser;
+
+import com.sonar.sslr.api.Token;
+import com.sonar.sslr.impl.LexerException;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.python.lexer.PythonTokenizer;
+import org.sonar.python.tree.PythonTreeMaker;
+
+/**
+ * Parses fragments of text which may or may not be Python code, such as the content of comments.
+ * Failures are expected and reported as {@code null} values rather than exceptions.
+ * Lexer and parser are reused for all the fragments of a given thread: use {@link #forCurrentThread()}.
+ */
+public final class PythonFragmentParser {
+
+  private static final ThreadLocal<PythonFragmentParser> INSTANCES = ThreadLocal.withInitial(PythonFragmentParser::new);
+
+  private final PythonTokenizer tokenizer = new PythonTokenizer();
+  private final PythonParser parser = PythonParser.create();
+
+  private PythonFragmentParser() {
+  }
+
+  public static PythonFragmentParser forCurrentThread() {
+    return INSTANCES.get();
+  }
+
+  /**
+   * Returns the tokens of the fragment, or an empty list if it cannot be tokenized.
+   */
+  public List<Token> tokenize(String fragment) {
+    try {
+      return tokenizer.lex(fragment);
+    } catch (LexerException e) {
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Builds the syntax tree of tokens returned by {@link #tokenize(String)}, or returns null if they are not valid Python code.
+   */
+  @CheckForNull
+  public FileInput parse(List<Token> tokens) {
+    if (tokens.isEmpty()) {
+      return null;
+    }
+    try {
+      return new PythonTreeMaker().fileInput(parser.parse(tokens));
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
@@ -26,12 +26,11 @@ import com.sonar.sslr.api.Token;
 import com.sonar.sslr.impl.Lexer;
 import com.sonar.sslr.impl.Parser;
 import com.sonar.sslr.impl.matcher.RuleDefinition;
-import java.util.ArrayList;
 import java.util.List;
 import org.sonar.python.api.PythonGrammar;
-import org.sonar.python.api.PythonTokenType;
 import org.sonar.python.lexer.LexerState;
 import org.sonar.python.lexer.PythonLexer;
+import org.sonar.python.lexer.PythonTokenizer;
 
 public final class PythonParser {
 
@@ -49,6 +48,13 @@ public final class PythonParser {
     return sslrParser.parse(source);
   }
 
+  /**
+   * Parses tokens which were produced by {@link PythonTokenizer#lex(String)}.
+   */
+  public AstNode parse(List<Token> tokens) {
+    return sslrParser.parse(tokens);
+  }
+
   public void setRootRule(Rule rule) {
     sslrParser.setRootRule(rule);
   }
@@ -84,23 +90,7 @@ public final class PythonParser {
     }
 
     private List<Token> tokens() {
-      List<Token> tokens = lexer.getTokens();
-      if (lexerState.indentationStack.peek() > 0) {
-        Token eofToken = tokens.get(tokens.size() - 1);
-        tokens = new ArrayList<>(tokens.subList(0, tokens.size() - 1));
-        while (lexerState.indentationStack.peek() > 0) {
-          lexerState.indentationStack.pop();
-          tokens.add(Token.builder()
-            .setURI(eofToken.getURI())
-            .setType(PythonTokenType.DEDENT)
-            .setLine(eofToken.getLine())
-            .setColumn(eofToken.getColumn())
-            .setValueAndOriginalValue("")
-            .build());
-        }
-        tokens.add(eofToken);
-      }
-      return tokens;
+      return PythonTokenizer.closeIndentations(lexer.getTokens(), lexerState);
     }
   }
 
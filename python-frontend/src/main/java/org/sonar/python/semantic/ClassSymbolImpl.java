@@ -228,7 +228,7 @@ public class ClassSymbolImpl extends SymbolImpl implements ClassSymbol {
 
   private Map<String, Symbol> membersByName() {
     if (membersByName == null) {
-      membersByName = declaredMembers().stream().collect(Collectors.toMap(Symbol::name, m -> m, (s1, s2) -> s1));
+      membersByName = Collections.unmodifiableMap(declaredMembers().stream().collect(Collectors.toMap(Symbol::name, m -> m, (s1, s2) -> s1)));
     }
     return membersByName;
   }
@@ -263,14 +263,16 @@ public class ClassSymbolImpl extends SymbolImpl implements ClassSymbol {
   private Set<Symbol> allSuperClasses(boolean includeAmbiguousSymbols) {
     if (!includeAmbiguousSymbols) {
       if (allSuperClasses == null) {
-        allSuperClasses = new LinkedHashSet<>();
-        exploreSuperClasses(this, allSuperClasses, false);
+        Set<Symbol> superClasses = new LinkedHashSet<>();
+        exploreSuperClasses(this, superClasses, false);
+        allSuperClasses = Collections.unmodifiableSet(superClasses);
       }
       return allSuperClasses;
     }
     if (allSuperClassesIncludingAmbiguousSymbols == null) {
-      allSuperClassesIncludingAmbiguousSymbols = new LinkedHashSet<>();
-      exploreSuperClasses(this, allSuperClassesIncludingAmbiguousSymbols, true);
+      Set<Symbol> superClasses = new LinkedHashSet<>();
+      exploreSuperClasses(this, superClasses, true);
+      allSuperClassesIncludingAmbiguousSymbols = Collections.unmodifiableSet(superClasses);
     }
     return allSuperClassesIncludingAmbiguousSymbols;
   }
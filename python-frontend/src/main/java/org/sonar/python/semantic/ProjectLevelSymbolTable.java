@@ -81,11 +81,11 @@ public class ProjectLevelSymbolTable {
 
   private Map<String, Symbol> globalSymbolsByFQN() {
     if (globalSymbolsByFQN == null) {
-      globalSymbolsByFQN = globalSymbolsByModuleName.values()
+      globalSymbolsByFQN = Collections.unmodifiableMap(globalSymbolsByModuleName.values()
         .stream()
         .flatMap(Collection::stream)
         .filter(symbol -> symbol.fullyQualifiedName() != null)
-        .collect(Collectors.toMap(Symbol::fullyQualifiedName, Function.identity(), AmbiguousSymbolImpl::create));
+        .collect(Collectors.toMap(Symbol::fullyQualifiedName, Function.identity(), AmbiguousSymbolImpl::create)));
     }
     return globalSymbolsByFQN;
   }
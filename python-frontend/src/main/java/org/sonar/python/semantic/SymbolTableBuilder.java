@@ -74,6 +74,7 @@ import org.sonar.plugins.python.api.tree.Tree.Kind;
 import org.sonar.plugins.python.api.tree.TupleParameter;
 import org.sonar.plugins.python.api.tree.TypeAnnotation;
 import org.sonar.plugins.python.api.tree.WithItem;
+import org.sonar.python.AnalysisBudget;
 import org.sonar.python.tree.ClassDefImpl;
 import org.sonar.python.tree.ComprehensionExpressionImpl;
 import org.sonar.python.tree.DictCompExpressionImpl;
@@ -99,6 +100,7 @@ public class SymbolTableBuilder extends BaseTreeVisitor {
   private FileInput fileInput = null;
   private Set<Tree> assignmentLeftHandSides = new HashSet<>();
   private final PythonFile pythonFile;
+  private final AnalysisBudget analysisBudget;
   private static final List<String> BASE_MODULES = Arrays.asList("", "typing", "typing_extensions");
 
   public SymbolTableBuilder(PythonFile pythonFile) {
@@ -106,6 +108,7 @@ public class SymbolTableBuilder extends BaseTreeVisitor {
     filePath = null;
     projectLevelSymbolTable = ProjectLevelSymbolTable.empty();
     this.pythonFile = pythonFile;
+    this.analysisBudget = AnalysisBudget.unlimited();
   }
 
   public SymbolTableBuilder(String packageName, PythonFile pythonFile) {
@@ -113,7 +116,15 @@ public class SymbolTableBuilder extends BaseTreeVisitor {
   }
 
   public SymbolTableBuilder(String packageName, PythonFile pythonFile, ProjectLevelSymbolTable projectLevelSymbolTable) {
+    this(packageName, pythonFile, projectLevelSymbolTable, AnalysisBudget.unlimited());
+  }
+
+  /**
+   * Type inference is skipped when the given budget is exceeded once the symbol table is built.
+   */
+  public SymbolTableBuilder(String packageName, PythonFile pythonFile, ProjectLevelSymbolTable projectLevelSymbolTable, AnalysisBudget analysisBudget) {
     this.pythonFile = pythonFile;
+    this.analysisBudget = analysisBudget;
     String fileName = pythonFile.fileName();
     fullyQualifiedModuleName = SymbolUtils.fullyQualifiedModuleName(packageName, fileName);
     filePath = new ArrayList<>(Arrays.asList(fullyQualifiedModuleName.split("\\.")));
@@ -132,7 +143,7 @@ public class SymbolTableBuilder extends BaseTreeVisitor {
     createAmbiguousSymbols();
     addSymbolsToTree((FileInputImpl) fileInput);
     fileInput.accept(new ThirdPhaseVisitor());
-    if (!isTypeShedFile(pythonFile)) {
+    if (!isTypeShedFile(pythonFile) && analysisBudget.checkpoint("symbol table")) {
       TypeInference.inferTypes(fileInput, pythonFile);
     }
   }
@@ -41,6 +41,7 @@ public class FileInputImpl extends PyTree implements FileInput {
   private final Token endOfFile;
   private final StringLiteral docstring;
   private final Set<Symbol> globalVariables = new HashSet<>();
+  private TreeIndex treeIndex;
 
   public FileInputImpl(@Nullable StatementList statements, Token endOfFile, @Nullable StringLiteral docstring) {
     this.statements = statements;
@@ -70,6 +71,13 @@ public class FileInputImpl extends PyTree implements FileInput {
     return globalVariables;
   }
 
+  TreeIndex treeIndex() {
+    if (treeIndex == null) {
+      treeIndex = new TreeIndex(this);
+    }
+    return treeIndex;
+  }
+
   public void addGlobalVariables(Symbol globalVariable) {
     globalVariables.add(globalVariable);
   }
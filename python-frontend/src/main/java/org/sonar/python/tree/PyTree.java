@@ -22,12 +22,15 @@ package org.sonar.python.tree;
 import java.util.List;
 import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
+import org.sonar.python.api.PythonTokenType;
 
 public abstract class PyTree implements Tree {
   protected Token firstToken;
   protected Token lastToken;
   private List<Tree> childs;
   private Tree parent = null;
+  // 0 until computed
+  private int structuralHash;
 
   protected PyTree() {
   }
@@ -83,6 +86,32 @@ public abstract class PyTree implements Tree {
 
   abstract List<Tree> computeChildren();
 
+  @Override
+  public int structuralHash() {
+    int hash = structuralHash;
+    if (hash == 0) {
+      hash = computeStructuralHash();
+      structuralHash = hash;
+    }
+    return hash;
+  }
+
+  private int computeStructuralHash() {
+    List<Tree> children = children();
+    int hash = 31 * getKind().ordinal() + children.size();
+    if (children.isEmpty()) {
+      Token token = firstToken();
+      if (token != null && !token.type().equals(PythonTokenType.INDENT) && !token.type().equals(PythonTokenType.DEDENT)) {
+        hash = 31 * hash + token.value().hashCode();
+      }
+      return hash;
+    }
+    for (Tree child : children) {
+      hash = 31 * hash + child.structuralHash();
+    }
+    return hash;
+  }
+
   public List<Tree> children() {
     if (childs == null) {
       childs = computeChildren();
@@ -21,6 +21,7 @@ package org.sonar.python.tree;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.sonar.plugins.python.api.tree.Expression;
@@ -34,11 +35,15 @@ public class StringElementImpl extends PyTree implements StringElement {
 
   private final String value;
   private final Token token;
+  private final String prefix;
   private List<FormattedExpression> formattedExpressions = new ArrayList<>();
+  private String trimmedQuotesValue;
+  private String unescapedValue;
 
   public StringElementImpl(Token token) {
     value = token.value();
     this.token = token;
+    prefix = value.substring(0, prefixLength(value));
   }
 
   @Override
@@ -76,28 +81,41 @@ public class StringElementImpl extends PyTree implements StringElement {
 
   @Override
   public String trimmedQuotesValue() {
-    String trimmed = removePrefix(value);
-    // determine if string is using long string or short string format
-    int startIndex = 1;
-    if (isTripleQuote(trimmed)) {
-      startIndex = 3;
+    if (trimmedQuotesValue == null) {
+      String trimmed = value.substring(prefix.length());
+      // determine if string is using long string or short string format
+      int startIndex = 1;
+      if (isTripleQuote(trimmed)) {
+        startIndex = 3;
+      }
+      trimmedQuotesValue = trimmed.substring(startIndex, trimmed.length() - startIndex);
     }
-    return trimmed.substring(startIndex, trimmed.length() - startIndex);
+    return trimmedQuotesValue;
+  }
+
+  @Override
+  public String unescapedValue() {
+    if (unescapedValue == null) {
+      String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+      boolean isEscaped = lowerCasePrefix.indexOf('r') == -1;
+      boolean isBytesLiteral = lowerCasePrefix.indexOf('b') != -1;
+      unescapedValue = isEscaped ? EscapeSequences.unescape(trimmedQuotesValue(), isBytesLiteral) : trimmedQuotesValue();
+    }
+    return unescapedValue;
   }
 
   @Override
   public String prefix() {
-    return value.substring(0, prefixLength(value));
+    return prefix;
   }
 
   @Override
   public boolean isTripleQuoted() {
-    return isTripleQuote(removePrefix(value));
+    return isTripleQuote(value.substring(prefix.length()));
   }
 
   @Override
   public boolean isInterpolated() {
-    String prefix = prefix();
     return prefix.indexOf('f') >= 0 || prefix.indexOf('F') >= 0;
   }
 
@@ -124,10 +142,6 @@ public class StringElementImpl extends PyTree implements StringElement {
     return false;
   }
 
-  private static String removePrefix(String value) {
-    return value.substring(prefixLength(value));
-  }
-
   private static boolean isCharQuote(char character) {
     return character == '\'' || character == '\"';
   }
@@ -141,10 +155,9 @@ public class StringElementImpl extends PyTree implements StringElement {
   }
 
   public int contentStartIndex() {
-    int prefixLength = prefixLength(value);
-    if (isTripleQuote(value.substring(prefixLength))) {
-      return prefixLength + 3;
+    if (isTripleQuoted()) {
+      return prefix.length() + 3;
     }
-    return prefixLength + 1;
+    return prefix.length() + 1;
   }
 }
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.sonar.plugins.python.api.tree.StringElement;
 import org.sonar.plugins.python.api.tree.StringLiteral;
@@ -37,6 +38,10 @@ public class StringLiteralImpl extends PyTree implements StringLiteral {
   private final List<StringElement> stringElements;
   private static final Set<String> BYTES_PREFIXES = new HashSet<>(Arrays.asList("b", "B", "br", "Br", "bR", "BR", "rb", "rB", "Rb", "RB"));
 
+  private String value;
+  private String trimmedQuotesValue;
+  private String unescapedValue;
+
   StringLiteralImpl(List<StringElement> stringElements) {
     this.stringElements = stringElements;
   }
@@ -63,9 +68,38 @@ public class StringLiteralImpl extends PyTree implements StringLiteral {
 
   @Override
   public String trimmedQuotesValue() {
-    return stringElements().stream()
-      .map(StringElement::trimmedQuotesValue)
-      .collect(Collectors.joining());
+    if (trimmedQuotesValue == null) {
+      trimmedQuotesValue = join(StringElement::trimmedQuotesValue);
+    }
+    return trimmedQuotesValue;
+  }
+
+  @Override
+  public String value() {
+    if (value == null) {
+      value = join(StringElement::value);
+    }
+    return value;
+  }
+
+  @Override
+  public String unescapedValue() {
+    if (unescapedValue == null) {
+      unescapedValue = join(StringElement::unescapedValue);
+    }
+    return unescapedValue;
+  }
+
+  @Override
+  public boolean isInterpolated() {
+    return stringElements.stream().anyMatch(StringElement::isInterpolated);
+  }
+
+  private String join(Function<StringElement, String> elementValue) {
+    if (stringElements.size() == 1) {
+      return elementValue.apply(stringElements.get(0));
+    }
+    return stringElements.stream().map(elementValue).collect(Collectors.joining());
   }
 
   // https://docs.python.org/3/reference/lexical_analysis.html#string-and-bytes-literals
@@ -0,0 +1,159 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.sonar.plugins.python.api.tree.Tree;
+import org.sonar.plugins.python.api.tree.Tree.Kind;
+
+/**
+ * Index of the nodes of a tree, numbered in preorder: the descendants of a node are the nodes numbered after it and
+ * before the end of its subtree. For each kind, the numbers of the nodes of this kind are sorted, so looking for the
+ * descendants of a given kind only requires binary searches.
+ * Tokens are not indexed.
+ */
+public class TreeIndex {
+
+  private final List<Tree> nodes = new ArrayList<>();
+  private final Map<Tree, Integer> numbers = new IdentityHashMap<>();
+  private final int[] subtreeEnds;
+  private final Map<Kind, int[]> numbersByKind = new EnumMap<>(Kind.class);
+
+  TreeIndex(Tree root) {
+    List<Integer> parents = new ArrayList<>();
+    Map<Kind, List<Integer>> numbersListByKind = new EnumMap<>(Kind.class);
+    Deque<Tree> stack = new ArrayDeque<>();
+    Deque<Integer> parentStack = new ArrayDeque<>();
+    stack.push(root);
+    parentStack.push(-1);
+    while (!stack.isEmpty()) {
+      Tree node = stack.pop();
+      int parent = parentStack.pop();
+      int number = nodes.size();
+      nodes.add(node);
+      parents.add(parent);
+      // a node reachable from several parents keeps its first number
+      numbers.putIfAbsent(node, number);
+      numbersListByKind.computeIfAbsent(node.getKind(), k -> new ArrayList<>()).add(number);
+      List<Tree> children = node.children();
+      for (int i = children.size() - 1; i >= 0; i--) {
+        Tree child = children.get(i);
+        if (child != null && !child.is(Kind.TOKEN)) {
+          stack.push(child);
+          parentStack.push(number);
+        }
+      }
+    }
+    int[] subtreeSizes = new int[nodes.size()];
+    Arrays.fill(subtreeSizes, 1);
+    for (int number = nodes.size() - 1; number > 0; number--) {
+      subtreeSizes[parents.get(number)] += subtreeSizes[number];
+    }
+    subtreeEnds = new int[nodes.size()];
+    for (int number = 0; number < nodes.size(); number++) {
+      subtreeEnds[number] = number + subtreeSizes[number];
+    }
+    numbersListByKind.forEach((kind, list) -> numbersByKind.put(kind, list.stream().mapToInt(Integer::intValue).toArray()));
+  }
+
+  /**
+   * Returns the index of the whole tree containing the given node. The index of a file is computed once.
+   */
+  public static TreeIndex of(Tree tree) {
+    Tree root = tree;
+    while (root.parent() != null) {
+      root = root.parent();
+    }
+    if (root instanceof FileInputImpl) {
+      return ((FileInputImpl) root).treeIndex();
+    }
+    return new TreeIndex(root);
+  }
+
+  /**
+   * Returns the descendants of the given node having one of the given kinds, in preorder. The node itself is excluded.
+   */
+  public List<Tree> descendants(Tree tree, Kind... kinds) {
+    if (tree.is(Kind.TOKEN)) {
+      return Collections.emptyList();
+    }
+    int number = number(tree);
+    int[] descendantNumbers = new int[0];
+    for (Kind kind : kinds) {
+      int[] kindNumbers = numbersByKind.get(kind);
+      if (kindNumbers != null) {
+        int from = lowerBound(kindNumbers, number + 1);
+        int to = lowerBound(kindNumbers, subtreeEnds[number]);
+        int previousLength = descendantNumbers.length;
+        descendantNumbers = Arrays.copyOf(descendantNumbers, previousLength + to - from);
+        System.arraycopy(kindNumbers, from, descendantNumbers, previousLength, to - from);
+      }
+    }
+    if (kinds.length > 1) {
+      Arrays.sort(descendantNumbers);
+    }
+    List<Tree> result = new ArrayList<>(descendantNumbers.length);
+    for (int descendantNumber : descendantNumbers) {
+      result.add(nodes.get(descendantNumber));
+    }
+    return result;
+  }
+
+  /**
+   * Returns true if one of the descendants of the given node has one of the given kinds. The node itself is excluded.
+   */
+  public boolean hasDescendant(Tree tree, Kind... kinds) {
+    if (tree.is(Kind.TOKEN)) {
+      return false;
+    }
+    int number = number(tree);
+    for (Kind kind : kinds) {
+      int[] kindNumbers = numbersByKind.get(kind);
+      if (kindNumbers != null && lowerBound(kindNumbers, number + 1) < lowerBound(kindNumbers, subtreeEnds[number])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int number(Tree tree) {
+    Integer number = numbers.get(tree);
+    if (number == null) {
+      throw new IllegalArgumentException("Tree is not indexed: " + tree.getKind());
+    }
+    return number;
+  }
+
+  /**
+   * Position of the first element greater than or equal to the given value.
+   */
+  private static int lowerBound(int[] sorted, int value) {
+    int index = Arrays.binarySearch(sorted, value);
+    return index >= 0 ? index : -(index + 1);
+  }
+}
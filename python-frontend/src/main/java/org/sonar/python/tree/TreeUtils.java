@@ -106,6 +106,20 @@ public class TreeUtils {
     return tree.children().stream().anyMatch(child -> predicate.test(child) || hasDescendant(child, predicate));
   }
 
+  /**
+   * Returns true if one of the descendants of the given tree has one of the given kinds, using the {@link TreeIndex} of the file.
+   */
+  public static boolean hasDescendantOfKind(Tree tree, Kind... kinds) {
+    return TreeIndex.of(tree).hasDescendant(tree, kinds);
+  }
+
+  /**
+   * Returns the descendants of the given tree having one of the given kinds, in preorder, using the {@link TreeIndex} of the file.
+   */
+  public static List<Tree> descendantsOfKind(Tree tree, Kind... kinds) {
+    return TreeIndex.of(tree).descendants(tree, kinds);
+  }
+
   public static Stream<Expression> flattenTuples(Expression expression) {
     if (expression.is(Kind.TUPLE)) {
       Tuple tuple = (Tuple) expression;
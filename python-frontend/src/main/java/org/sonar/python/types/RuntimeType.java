@@ -19,6 +19,7 @@
  */
 package org.sonar.python.types;
 
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -105,14 +106,14 @@ class RuntimeType implements InferredType {
 
   private Set<String> typeClassSuperClassesFQN() {
     if (typeClassSuperClassesFQN == null) {
-      typeClassSuperClassesFQN = typeClass.superClasses().stream().map(Symbol::fullyQualifiedName).collect(Collectors.toSet());
+      typeClassSuperClassesFQN = Collections.unmodifiableSet(typeClass.superClasses().stream().map(Symbol::fullyQualifiedName).collect(Collectors.toSet()));
     }
     return typeClassSuperClassesFQN;
   }
 
   private Set<String> typeClassMembersFQN() {
     if (typeClassMembersFQN == null) {
-      typeClassMembersFQN = typeClass.declaredMembers().stream().map(Symbol::fullyQualifiedName).collect(Collectors.toSet());
+      typeClassMembersFQN = Collections.unmodifiableSet(typeClass.declaredMembers().stream().map(Symbol::fullyQualifiedName).collect(Collectors.toSet()));
     }
     return typeClassMembersFQN;
   }
@@ -20,15 +20,20 @@
 package org.sonar.python.types;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
 import org.sonar.plugins.python.api.PythonFile;
 import org.sonar.plugins.python.api.cfg.ControlFlowGraph;
@@ -37,7 +42,6 @@ import org.sonar.plugins.python.api.symbols.Symbol;
 import org.sonar.plugins.python.api.symbols.Usage;
 import org.sonar.plugins.python.api.tree.AssignmentStatement;
 import org.sonar.plugins.python.api.tree.BaseTreeVisitor;
-import org.sonar.plugins.python.api.tree.ClassDef;
 import org.sonar.plugins.python.api.tree.Expression;
 import org.sonar.plugins.python.api.tree.FileInput;
 import org.sonar.plugins.python.api.tree.FunctionDef;
@@ -45,7 +49,6 @@ import org.sonar.plugins.python.api.tree.Name;
 import org.sonar.plugins.python.api.tree.Parameter;
 import org.sonar.plugins.python.api.tree.QualifiedExpression;
 import org.sonar.plugins.python.api.tree.Tree;
-import org.sonar.plugins.python.api.tree.TryStatement;
 import org.sonar.plugins.python.api.types.InferredType;
 import org.sonar.python.semantic.SymbolImpl;
 import org.sonar.python.tree.FunctionDefImpl;
@@ -64,14 +67,19 @@ public class TypeInference extends BaseTreeVisitor {
   private final Map<AssignmentStatement, Assignment> assignmentsByAssignmentStatement = new HashMap<>();
   private Map<String, InferredType> parameterTypesByName = new HashMap<>();
 
+  /**
+   * Functions are inferred after the functions they contain. The inference of a function only writes the types of its local
+   * variables and the types and symbols of the names it contains, hence sibling functions do not depend on each other.
+   * When called from a fork-join pool, sibling functions are inferred as concurrent tasks: a name is only written by the task
+   * of the function enclosing it, or by the tasks of enclosing functions once it is done.
+   */
   public static void inferTypes(FileInput fileInput, PythonFile pythonFile) {
-    fileInput.accept(new BaseTreeVisitor() {
-      @Override
-      public void visitFunctionDef(FunctionDef funcDef) {
-        super.visitFunctionDef(funcDef);
-        inferTypesAndMemberAccessSymbols(funcDef, pythonFile);
-      }
-    });
+    Map<Tree, List<FunctionDef>> functionsByParent = new IdentityHashMap<>();
+    for (Tree functionDef : TreeUtils.descendantsOfKind(fileInput, Tree.Kind.FUNCDEF)) {
+      Tree parent = TreeUtils.firstAncestorOfKind(functionDef, Tree.Kind.FUNCDEF);
+      functionsByParent.computeIfAbsent(parent == null ? fileInput : parent, p -> new ArrayList<>()).add((FunctionDef) functionDef);
+    }
+    new FunctionInference(fileInput, functionsByParent, pythonFile).invoke();
     fileInput.accept(new BaseTreeVisitor() {
       @Override
       public void visitQualifiedExpression(QualifiedExpression qualifiedExpression) {
@@ -107,9 +115,7 @@ public class TypeInference extends BaseTreeVisitor {
       .map(a -> a.lhsName)
       .collect(Collectors.toSet());
 
-    TryStatementVisitor tryStatementVisitor = new TryStatementVisitor(functionDef);
-    functionDef.body().accept(tryStatementVisitor);
-    if (tryStatementVisitor.hasTryStatement) {
+    if (hasTryStatement(functionDef)) {
       // CFG doesn't model precisely try-except statements. Hence we fallback to AST based type inference
       visitor.processPropagations(getTrackedVars(functionDef.localVariables(), assignedNames));
       functionDef.body().accept(new BaseTreeVisitor() {
@@ -139,28 +145,12 @@ public class TypeInference extends BaseTreeVisitor {
     }
   }
 
-  private static class TryStatementVisitor extends BaseTreeVisitor {
-    FunctionDef functionDef;
-    boolean hasTryStatement = false;
-
-    TryStatementVisitor(FunctionDef functionDef) {
-      this.functionDef = functionDef;
-    }
-
-    @Override
-    public void visitClassDef(ClassDef classDef) {
-      // Don't visit nested classes
-    }
-
-    @Override
-    public void visitFunctionDef(FunctionDef visited) {
-      // Don't visit nested functions
-    }
-
-    @Override
-    public void visitTryStatement(TryStatement tryStatement) {
-      hasTryStatement = true;
-    }
+  /**
+   * Try statements of nested functions and classes are ignored.
+   */
+  private static boolean hasTryStatement(FunctionDef functionDef) {
+    return TreeUtils.descendantsOfKind(functionDef.body(), Tree.Kind.TRY_STMT).stream()
+      .anyMatch(tryStatement -> TreeUtils.firstAncestorOfKind(tryStatement, Tree.Kind.FUNCDEF, Tree.Kind.CLASSDEF) == functionDef);
   }
 
   @Override
@@ -259,6 +249,33 @@ public class TypeInference extends BaseTreeVisitor {
     }
   }
 
+  private static class FunctionInference extends RecursiveAction {
+    private final Tree tree;
+    private final Map<Tree, List<FunctionDef>> functionsByParent;
+    private final PythonFile pythonFile;
+
+    FunctionInference(Tree tree, Map<Tree, List<FunctionDef>> functionsByParent, PythonFile pythonFile) {
+      this.tree = tree;
+      this.functionsByParent = functionsByParent;
+      this.pythonFile = pythonFile;
+    }
+
+    @Override
+    protected void compute() {
+      List<FunctionInference> nestedFunctions = functionsByParent.getOrDefault(tree, Collections.emptyList()).stream()
+        .map(functionDef -> new FunctionInference(functionDef, functionsByParent, pythonFile))
+        .collect(Collectors.toList());
+      if (nestedFunctions.size() > 1 && ForkJoinTask.inForkJoinPool()) {
+        invokeAll(nestedFunctions);
+      } else {
+        nestedFunctions.forEach(FunctionInference::compute);
+      }
+      if (tree.is(Tree.Kind.FUNCDEF)) {
+        inferTypesAndMemberAccessSymbols((FunctionDef) tree, pythonFile);
+      }
+    }
+  }
+
   private abstract class Propagation {
     private final Set<Symbol> variableDependencies = new HashSet<>();
     private final Set<QualifiedExpression> memberAccessDependencies = new HashSet<>();
@@ -62,6 +62,7 @@ public class TypeShed {
   private static final String TYPING = "typing";
   private static final String TYPING_EXTENSIONS = "typing_extensions";
   private static Map<String, Symbol> builtins;
+  private static volatile Map<String, Symbol> loadedBuiltins;
   private static final Map<String, Set<Symbol>> typeShedSymbols = new HashMap<>();
   private static final Map<String, Set<Symbol>> builtinGlobalSymbols = new HashMap<>();
   private static final Set<String> modulesInProgress = new HashSet<>();
@@ -78,6 +79,15 @@ public class TypeShed {
   }
 
   public static Map<String, Symbol> builtinSymbols() {
+    Map<String, Symbol> symbols = TypeShed.loadedBuiltins;
+    return symbols != null ? symbols : loadBuiltinSymbols();
+  }
+
+  /**
+   * Stubs are loaded lazily and may be requested by checks running concurrently on the same file:
+   * builtins are only visible to other threads once fully loaded.
+   */
+  private static synchronized Map<String, Symbol> loadBuiltinSymbols() {
     // InferredTypes class initialization requires builtInSymbols to be computed. Calling dummy method
     // from it explicitly to overcome the issue of TypeShed.builtins being assigned twice
     if (TypeShed.builtins == null && !InferredTypes.isInitialized()) {
@@ -101,6 +111,7 @@ public class TypeShed {
       InferredTypes.setBuiltinSymbols(builtins);
       fileInput.accept(new ReturnTypeVisitor());
       TypeShed.builtinGlobalSymbols.put("", new HashSet<>(builtins.values()));
+      TypeShed.loadedBuiltins = TypeShed.builtins;
     }
     return builtins;
   }
@@ -154,7 +165,7 @@ public class TypeShed {
     return new HashSet<>(typingExtensionSymbols.values());
   }
 
-  public static Set<Symbol> symbolsForModule(String moduleName) {
+  public static synchronized Set<Symbol> symbolsForModule(String moduleName) {
     if (!TypeShed.typeShedSymbols.containsKey(moduleName)) {
       Set<Symbol> symbols = searchTypeShedForModule(moduleName);
       typeShedSymbols.put(moduleName, symbols);
@@ -262,7 +273,7 @@ public class TypeShed {
     return (ClassSymbol) symbol;
   }
 
-  public static Collection<Symbol> stubFilesSymbols() {
+  public static synchronized Collection<Symbol> stubFilesSymbols() {
     Set<Symbol> symbols = new HashSet<>(TypeShed.builtinSymbols().values());
     typeShedSymbols.values().forEach(symbols::addAll);
     return symbols;
@@ -0,0 +1,74 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnalysisBudgetTest {
+
+  @Test
+  public void unlimited() {
+    AnalysisBudget budget = AnalysisBudget.unlimited();
+    assertThat(budget.checkpoint("parse")).isTrue();
+    assertThat(budget.isExceeded()).isFalse();
+    assertThat(budget.exceededPhase()).isNull();
+
+    budget = AnalysisBudget.startingNow(-1);
+    assertThat(budget.checkpoint("parse")).isTrue();
+    assertThat(budget.isExceeded()).isFalse();
+  }
+
+  @Test
+  public void exceeded() {
+    AtomicLong clock = new AtomicLong(0);
+    AnalysisBudget budget = new AnalysisBudget(10, clock::get);
+    assertThat(budget.timeoutMillis()).isEqualTo(10);
+
+    clock.set(TimeUnit.MILLISECONDS.toNanos(5));
+    assertThat(budget.checkpoint("parse")).isTrue();
+    assertThat(budget.exceededPhase()).isNull();
+
+    clock.set(TimeUnit.MILLISECONDS.toNanos(11));
+    assertThat(budget.checkpoint("symbol table")).isFalse();
+    assertThat(budget.isExceeded()).isTrue();
+    assertThat(budget.exceededPhase()).isEqualTo("symbol table");
+
+    // first exceeded phase is kept
+    assertThat(budget.checkpoint("type inference")).isFalse();
+    assertThat(budget.exceededPhase()).isEqualTo("symbol table");
+  }
+
+  @Test
+  public void already_spent() {
+    AtomicLong clock = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(100));
+    AnalysisBudget budget = new AnalysisBudget(10, TimeUnit.MILLISECONDS.toNanos(8), clock::get);
+    assertThat(budget.checkpoint("parse")).isTrue();
+
+    clock.set(TimeUnit.MILLISECONDS.toNanos(103));
+    assertThat(budget.checkpoint("symbol table")).isFalse();
+    assertThat(budget.exceededPhase()).isEqualTo("symbol table");
+
+    assertThat(AnalysisBudget.startingNow(0, TimeUnit.SECONDS.toNanos(1)).checkpoint("parse")).isTrue();
+  }
+}
@@ -20,16 +20,24 @@
 package org.sonar.python;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.Test;
 import org.sonar.plugins.python.api.PythonVisitorCheck;
 import org.sonar.plugins.python.api.tree.ClassDef;
 import org.sonar.plugins.python.api.tree.FileInput;
 import org.sonar.plugins.python.api.tree.FunctionDef;
 import org.sonar.plugins.python.api.tree.StringLiteral;
+import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
+import org.sonar.python.lexer.PythonTokenizer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -56,6 +64,28 @@ public class DocstringExtractorTest {
     assertThat(docstrings.values().stream().filter(Objects::nonNull)).hasSize(7);
   }
 
+  @Test
+  public void docstring_tokens() throws IOException {
+    File file = new File(BASE_DIR, "docstring.py");
+    TestPythonVisitorRunner.scanFile(file, new DocstringVisitor());
+    Set<String> expected = docstrings.values().stream()
+      .filter(Objects::nonNull)
+      .flatMap(docstring -> docstring.stringElements().stream())
+      .map(element -> position(element.firstToken()))
+      .collect(Collectors.toSet());
+
+    List<Token> tokens = new PythonTokenizer().tokenize(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    Set<String> actual = DocstringExtractor.docstringTokens(tokens).stream()
+      .map(DocstringExtractorTest::position)
+      .collect(Collectors.toSet());
+
+    assertThat(actual).hasSize(8).isEqualTo(expected);
+  }
+
+  private static String position(Token token) {
+    return token.line() + ":" + token.column();
+  }
+
   private void assertDocstring(Tree.Kind kind, int line, String expectedDocstring) {
     StringLiteral docString = getDocstring(kind, line);
     assertThat(docString).as("docstring for AstNode of type " + kind + " at line " + line).isNotNull();
@@ -20,7 +20,13 @@
 package org.sonar.python;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
 import org.junit.Test;
+import org.sonar.plugins.python.api.tree.Token;
+import org.sonar.python.lexer.PythonTokenizer;
 import org.sonar.python.metrics.FileLinesVisitor;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +49,20 @@ public class FileLinesVisitorTest {
     assertThat(visitor.getLinesWithNoSonar()).containsOnly(15);
   }
 
+  @Test
+  public void scan_tokens() throws IOException {
+    FileLinesVisitor visitor = new FileLinesVisitor();
+    String content = new String(Files.readAllBytes(new File(BASE_DIR, "file_lines.py").toPath()), StandardCharsets.UTF_8);
+    List<Token> tokens = new PythonTokenizer().tokenize(content);
+
+    visitor.scanTokens(tokens, DocstringExtractor.docstringTokens(tokens), new LineIndex(content));
+
+    assertThat(visitor.getLinesOfCode()).containsOnly(6, 8, 11, 12, 13, 14, 15, 16, 18, 19, 21, 25);
+    assertThat(visitor.getCommentLineCount()).isEqualTo(13);
+    assertThat(visitor.getLinesWithNoSonar()).containsOnly(15);
+    assertThat(visitor.getExecutableLines()).isEmpty();
+  }
+
   @Test
   public void test_ignoreHeaderComments() {
     FileLinesVisitor visitor = new FileLinesVisitor();
@@ -0,0 +1,53 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FullyQualifiedNameRegistryTest {
+
+  @Test
+  public void names_and_prefixes() {
+    FullyQualifiedNameRegistry<String> registry = new FullyQualifiedNameRegistry<>();
+    assertThat(registry.isEmpty()).isTrue();
+    registry.register("os.system", "system");
+    registry.register("os.*", "os");
+    registry.register("os.path.*", "path");
+    registry.register("os.path.join", "os");
+    assertThat(registry.isEmpty()).isFalse();
+
+    assertThat(registry.matches("os.system")).containsExactly("system", "os");
+    assertThat(registry.matches("os.path.join")).containsExactly("os", "path");
+    assertThat(registry.matches("os.path.exists")).containsExactly("os", "path");
+    assertThat(registry.matches("os")).isEmpty();
+    assertThat(registry.matches("osx.system")).isEmpty();
+    assertThat(registry.matches(null)).isEmpty();
+  }
+
+  @Test
+  public void names_only() {
+    FullyQualifiedNameRegistry<String> registry = new FullyQualifiedNameRegistry<>();
+    registry.register("random.random", "random");
+    assertThat(registry.matches("random.random")).containsExactly("random");
+    assertThat(registry.matches("random.randint")).isEmpty();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LineIndexTest {
+
+  @Test
+  public void lines() {
+    LineIndex lineIndex = new LineIndex("a = 1\nfoo()\r\n\rbar\r");
+    assertThat(lineIndex.lineCount()).isEqualTo(5);
+    assertThat(lineIndex.content()).isEqualTo("a = 1\nfoo()\r\n\rbar\r");
+
+    assertThat(lineIndex.lineStart(1)).isZero();
+    assertThat(lineIndex.lineEnd(1)).isEqualTo(5);
+    assertThat(lineIndex.lineText(1)).isEqualTo("a = 1");
+    assertThat(lineIndex.lineLength(2)).isEqualTo(5);
+    assertThat(lineIndex.lineText(2)).isEqualTo("foo()");
+    assertThat(lineIndex.lineText(3)).isEmpty();
+    assertThat(lineIndex.lineText(4)).isEqualTo("bar");
+    assertThat(lineIndex.lineStart(5)).isEqualTo(18);
+    assertThat(lineIndex.lineLength(5)).isZero();
+  }
+
+  @Test
+  public void offsets() {
+    LineIndex lineIndex = new LineIndex("a = 1\nfoo()\r\nbar");
+    assertThat(lineIndex.line(0)).isEqualTo(1);
+    assertThat(lineIndex.line(5)).isEqualTo(1);
+    assertThat(lineIndex.line(6)).isEqualTo(2);
+    assertThat(lineIndex.lineOffset(8)).isEqualTo(2);
+    assertThat(lineIndex.line(12)).isEqualTo(2);
+    assertThat(lineIndex.line(13)).isEqualTo(3);
+    assertThat(lineIndex.lineOffset(16)).isEqualTo(3);
+
+    assertThatThrownBy(() -> lineIndex.line(17)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> lineIndex.lineStart(4)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> lineIndex.lineText(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void many_lines() {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      content.append("line").append(i).append("\n");
+    }
+    LineIndex lineIndex = new LineIndex(content.toString());
+    assertThat(lineIndex.lineCount()).isEqualTo(101);
+    assertThat(lineIndex.lineText(100)).isEqualTo("line99");
+    assertThat(lineIndex.line(content.length())).isEqualTo(101);
+  }
+
+  @Test
+  public void empty_content() {
+    LineIndex lineIndex = new LineIndex("");
+    assertThat(lineIndex.lineCount()).isEqualTo(1);
+    assertThat(lineIndex.lineText(1)).isEmpty();
+    assertThat(lineIndex.line(0)).isEqualTo(1);
+  }
+}
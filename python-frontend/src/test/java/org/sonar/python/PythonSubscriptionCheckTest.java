@@ -20,8 +20,14 @@
 package org.sonar.python;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Test;
 import org.sonar.plugins.python.api.IssueLocation;
 import org.sonar.plugins.python.api.PythonCheck;
@@ -39,6 +45,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class PythonSubscriptionCheckTest {
 
   private static final File FILE = new File("src/test/resources/file.py");
+  private static final File CALLS_FILE = new File("src/test/resources/calls.py");
   public static final String MESSAGE = "message";
 
   private static List<PreciseIssue> scanFileForIssues(File file, PythonCheck check) {
@@ -153,6 +160,95 @@ public class PythonSubscriptionCheckTest {
     assertThat(issues.get(0).primaryLocation().startLine()).isEqualTo(8);
   }
 
+  @Test
+  public void test_call_expression_consumers() {
+    TestPythonCheck check = new TestPythonCheck() {
+      @Override
+      public void initialize(Context context) {
+        context.registerCallExpressionConsumer(Arrays.asList("os.system", "subprocess.*"), ctx -> ctx.addIssue(ctx.syntaxNode(), "system or subprocess"));
+        context.registerCallExpressionConsumer(Arrays.asList("os.*", "os.path.join"), ctx -> ctx.addIssue(ctx.syntaxNode(), "os"));
+      }
+    };
+    List<PreciseIssue> issues = scanFileForIssues(CALLS_FILE, check);
+    assertThat(issues).extracting(issue -> issue.primaryLocation().startLine() + ":" + issue.primaryLocation().message())
+      .containsExactlyInAnyOrder("5:system or subprocess", "5:os", "6:os", "7:system or subprocess");
+
+    // checks initialized with other contexts rely on the default implementation based on CALL_EXPR consumers
+    PythonSubscriptionCheck checkWithDefaultImplementation = new TestPythonCheck() {
+      @Override
+      public void initialize(Context context) {
+        check.initialize((elementType, consumer) -> context.registerSyntaxNodeConsumer(elementType, consumer));
+      }
+    };
+    assertThat(scanFileForIssues(CALLS_FILE, checkWithDefaultImplementation))
+      .extracting(issue -> issue.primaryLocation().startLine() + ":" + issue.primaryLocation().message())
+      .containsExactlyInAnyOrder("5:system or subprocess", "5:os", "6:os", "7:system or subprocess");
+  }
+
+  @Test
+  public void test_string_literal_consumers() {
+    TestPythonCheck check = new TestPythonCheck() {
+      @Override
+      public void initialize(Context context) {
+        context.registerStringLiteralConsumer(Arrays.asList("L", "s"), ctx -> ctx.addIssue(ctx.syntaxNode(), "ls"));
+        context.registerStringLiteralConsumer(Collections.singletonList("a"), ctx -> ctx.addIssue(ctx.syntaxNode(), "a"));
+      }
+    };
+    List<PreciseIssue> issues = scanFileForIssues(CALLS_FILE, check);
+    assertThat(issues).extracting(issue -> issue.primaryLocation().startLine() + ":" + issue.primaryLocation().message())
+      .containsExactlyInAnyOrder("5:ls", "6:a", "7:ls");
+
+    PythonSubscriptionCheck checkWithDefaultImplementation = new TestPythonCheck() {
+      @Override
+      public void initialize(Context context) {
+        check.initialize((elementType, consumer) -> context.registerSyntaxNodeConsumer(elementType, consumer));
+      }
+    };
+    assertThat(scanFileForIssues(CALLS_FILE, checkWithDefaultImplementation))
+      .extracting(issue -> issue.primaryLocation().startLine() + ":" + issue.primaryLocation().message())
+      .containsExactlyInAnyOrder("5:ls", "6:a", "7:ls");
+  }
+
+  @Test
+  public void test_parallel_checks() {
+    AtomicInteger leftFiles = new AtomicInteger();
+    List<PythonSubscriptionCheck> checks = IntStream.range(0, 5).mapToObj(i -> new TestPythonCheck() {
+      @Override
+      public void initialize(Context context) {
+        context.registerSyntaxNodeConsumer(Tree.Kind.NAME, ctx -> ctx.addIssue(ctx.syntaxNode(), "name " + i));
+        context.registerSyntaxNodeConsumer(Tree.Kind.CALL_EXPR, ctx -> ctx.addIssue(ctx.syntaxNode(), "call " + i));
+      }
+
+      @Override
+      public void leaveFile() {
+        leftFiles.incrementAndGet();
+      }
+    }).collect(Collectors.toList());
+
+    PythonVisitorContext sequentialContext = TestPythonVisitorRunner.createContext(CALLS_FILE);
+    SubscriptionVisitor.analyze(checks, sequentialContext);
+    List<PreciseIssue> sequentialIssues = sequentialContext.getIssues().stream()
+      .sorted(Comparator.comparingInt(issue -> checks.indexOf(issue.check())))
+      .collect(Collectors.toList());
+
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      PythonVisitorContext parallelContext = TestPythonVisitorRunner.createContext(CALLS_FILE);
+      SubscriptionVisitor.analyze(checks, parallelContext, AnalysisBudget.unlimited(), pool);
+      assertThat(leftFiles.get()).isEqualTo(10);
+      assertThat(parallelContext.getIssues()).isNotEmpty();
+      assertThat(parallelContext.getIssues()).extracting(PythonSubscriptionCheckTest::issueDescription)
+        .containsExactlyElementsOf(sequentialIssues.stream().map(PythonSubscriptionCheckTest::issueDescription).collect(Collectors.toList()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static String issueDescription(PreciseIssue issue) {
+    IssueLocation location = issue.primaryLocation();
+    return location.startLine() + ":" + location.startLineOffset() + ":" + location.message();
+  }
+
   private abstract static class TestPythonCheck extends PythonSubscriptionCheck {
 
   }
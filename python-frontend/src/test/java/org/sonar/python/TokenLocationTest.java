@@ -65,6 +65,19 @@ public class TokenLocationTest {
     assertOffsets(commentLocation, 1, 0, 1, 8);
   }
 
+  @Test
+  public void test_file_line_index() {
+    String content = "x = '''first line\r\nsecond'''\r\ny = 1";
+    LineIndex lineIndex = new LineIndex(content);
+    List<Token> tokens = lex(content);
+    assertOffsets(new TokenLocation(tokens.get(2), lineIndex), 1, 4, 2, 9);
+    assertOffsets(new TokenLocation(tokens.get(6), lineIndex), 3, 4, 3, 5);
+    // the value of the NEWLINE token is "\n" while the line terminator is "\r\n"
+    assertOffsets(new TokenLocation(tokens.get(3), lineIndex), 2, 9, 3, 0);
+    // the value of the EOF token is not in the content
+    assertOffsets(new TokenLocation(tokens.get(7), lineIndex), 3, 5, 3, 8);
+  }
+
   private static void assertOffsets(TokenLocation tokenLocation, int startLine, int startLineOffset, int endLine, int endLineOffset) {
     assertThat(tokenLocation.startLine()).as("start line").isEqualTo(startLine);
     assertThat(tokenLocation.startLineOffset()).as("start line offset").isEqualTo(startLineOffset);
@@ -56,6 +56,9 @@ public class FileMetricsTest {
   @Test
   public void function_complexities() {
     assertThat(metrics("function-complexities.py").functionComplexities()).containsExactly(3, 1);
+    FileMetrics nestedFunctionsMetrics = metrics("nested-function-complexities.py");
+    assertThat(nestedFunctionsMetrics.functionComplexities()).containsExactly(3, 2, 2, 3);
+    assertThat(nestedFunctionsMetrics.complexity()).isEqualTo(10);
   }
 
   private static FileMetrics metrics(String fileName) {
@@ -0,0 +1,54 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python.parser;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.plugins.python.api.tree.Tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PythonFragmentParserTest {
+
+  private final PythonFragmentParser fragmentParser = PythonFragmentParser.forCurrentThread();
+
+  @Test
+  public void code() {
+    FileInput fileInput = fragmentParser.parse(fragmentParser.tokenize("if x:\n  y = 1\n"));
+    assertThat(fileInput).isNotNull();
+    assertThat(fileInput.statements().statements()).extracting(Tree::getKind).containsExactly(Tree.Kind.IF_STMT);
+  }
+
+  @Test
+  public void not_code() {
+    assertThat(fragmentParser.tokenize("this is not code")).isNotEmpty();
+    assertThat(fragmentParser.parse(fragmentParser.tokenize("this is not code"))).isNull();
+    assertThat(fragmentParser.parse(fragmentParser.tokenize("x = = 1"))).isNull();
+    assertThat(fragmentParser.parse(Collections.emptyList())).isNull();
+  }
+
+  @Test
+  public void one_instance_per_thread() throws Exception {
+    assertThat(PythonFragmentParser.forCurrentThread()).isSameAs(fragmentParser);
+    assertThat(CompletableFuture.supplyAsync(PythonFragmentParser::forCurrentThread).get()).isNotSameAs(fragmentParser);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.python.tree;
+
+import java.util.List;
+import org.junit.Test;
+import org.sonar.plugins.python.api.tree.FunctionDef;
+import org.sonar.plugins.python.api.tree.Statement;
+import org.sonar.plugins.python.api.tree.StatementList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonar.python.PythonTestUtils.parseWithoutSymbols;
+
+public class PyTreeTest {
+
+  @Test
+  public void structural_hash() {
+    List<Statement> functions = parseWithoutSymbols(
+      "def f():",
+      "  x = a + 1",
+      "  return x",
+      "def g():",
+      "      x = a + 1",
+      "      return x",
+      "def h():",
+      "  x = a + 2",
+      "  return x").statements().statements();
+    StatementList fBody = ((FunctionDef) functions.get(0)).body();
+    StatementList gBody = ((FunctionDef) functions.get(1)).body();
+    StatementList hBody = ((FunctionDef) functions.get(2)).body();
+
+    assertThat(fBody.structuralHash()).isEqualTo(fBody.structuralHash());
+    assertThat(fBody.structuralHash()).isEqualTo(gBody.structuralHash());
+    assertThat(fBody.structuralHash()).isNotEqualTo(hBody.structuralHash());
+    // names differ, indentation is ignored
+    assertThat(functions.get(0).structuralHash()).isNotEqualTo(functions.get(1).structuralHash());
+    assertThat(fBody.statements().get(1).structuralHash()).isEqualTo(hBody.statements().get(1).structuralHash());
+  }
+}
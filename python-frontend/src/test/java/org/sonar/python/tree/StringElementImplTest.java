@@ -37,6 +37,31 @@ public class StringElementImplTest {
     assertThat(stringElement("rf'abc'").isInterpolated()).isTrue();
   }
 
+  @Test
+  public void unescapedValue() {
+    StringElement element = stringElement("'a\\tb'");
+    assertThat(element.unescapedValue()).isEqualTo("a\tb");
+    assertThat(element.unescapedValue()).isSameAs(element.unescapedValue());
+    assertThat(stringElement("r'a\\tb'").unescapedValue()).isEqualTo("a\\tb");
+    assertThat(stringElement("b'\\u0061'").unescapedValue()).isEqualTo("\\u0061");
+    assertThat(stringElement("u'\\u0061'").unescapedValue()).isEqualTo("a");
+    assertThat(stringElement("'''abc'''").unescapedValue()).isEqualTo("abc");
+  }
+
+  @Test
+  public void string_literal() {
+    StringLiteral literal = (StringLiteral) PythonTestUtils.lastExpression("'a\\tb' r\"c\\n\"");
+    assertThat(literal.value()).isEqualTo("'a\\tb'r\"c\\n\"");
+    assertThat(literal.trimmedQuotesValue()).isEqualTo("a\\tbc\\n");
+    assertThat(literal.unescapedValue()).isEqualTo("a\tbc\\n");
+    assertThat(literal.unescapedValue()).isSameAs(literal.unescapedValue());
+    assertThat(literal.isInterpolated()).isFalse();
+
+    StringLiteral fString = (StringLiteral) PythonTestUtils.lastExpression("'a' f'{x}'");
+    assertThat(fString.isInterpolated()).isTrue();
+    assertThat(fString.value()).isEqualTo("'a'f'{x}'");
+  }
+
   private StringElement stringElement(String code) {
     return ((StringLiteral) PythonTestUtils.lastExpression(code)).stringElements().get(0);
   }
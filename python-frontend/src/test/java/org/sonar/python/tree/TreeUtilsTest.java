@@ -49,6 +49,7 @@ import org.sonar.python.api.PythonTokenType;
 import org.sonar.python.parser.PythonParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.sonar.python.PythonTestUtils.lastExpression;
 
 public class TreeUtilsTest {
@@ -121,6 +122,28 @@ public class TreeUtilsTest {
     assertThat(TreeUtils.hasDescendant(fileInput, t -> t.is(Kind.IF_STMT))).isFalse();
   }
 
+  @Test
+  public void descendantsOfKind() {
+    FileInput fileInput = parse("def foo():\n  return bar()\ndef qix():\n  try: pass\n  finally: yield baz()");
+    FunctionDef foo = (FunctionDef) fileInput.statements().statements().get(0);
+    FunctionDef qix = (FunctionDef) fileInput.statements().statements().get(1);
+    assertThat(TreeUtils.hasDescendantOfKind(foo, Kind.TRY_STMT)).isFalse();
+    assertThat(TreeUtils.hasDescendantOfKind(qix, Kind.TRY_STMT)).isTrue();
+    assertThat(TreeUtils.hasDescendantOfKind(fileInput, Kind.IF_STMT, Kind.RETURN_STMT)).isTrue();
+    assertThat(TreeUtils.descendantsOfKind(fileInput, Kind.CALL_EXPR)).extracting(t -> ((CallExpression) t).callee().firstToken().value())
+      .containsExactly("bar", "baz");
+    assertThat(TreeUtils.descendantsOfKind(qix, Kind.CALL_EXPR, Kind.YIELD_STMT, Kind.RETURN_STMT)).extracting(Tree::getKind)
+      .containsExactly(Kind.YIELD_STMT, Kind.CALL_EXPR);
+    assertThat(TreeUtils.descendantsOfKind(foo.name(), Kind.NAME)).isEmpty();
+    assertThat(TreeUtils.descendantsOfKind(foo.firstToken(), Kind.NAME)).isEmpty();
+    assertThat(TreeUtils.hasDescendantOfKind(foo.firstToken(), Kind.NAME)).isFalse();
+
+    TreeIndex treeIndex = TreeIndex.of(fileInput);
+    assertThat(TreeIndex.of(foo)).isSameAs(treeIndex);
+    FileInput otherFile = parse("pass");
+    assertThatThrownBy(() -> treeIndex.descendants(otherFile, Kind.PASS_STMT)).isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   public void getSymbolFromTree() {
     assertThat(TreeUtils.getSymbolFromTree(null)).isEmpty();
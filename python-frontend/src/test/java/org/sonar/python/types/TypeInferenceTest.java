@@ -20,6 +20,9 @@
 package org.sonar.python.types;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
 import org.junit.Test;
 import org.sonar.plugins.python.api.symbols.AmbiguousSymbol;
 import org.sonar.plugins.python.api.symbols.ClassSymbol;
@@ -29,10 +32,12 @@ import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.Expression;
 import org.sonar.plugins.python.api.tree.ExpressionStatement;
 import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.plugins.python.api.tree.Name;
 import org.sonar.plugins.python.api.tree.RegularArgument;
 import org.sonar.plugins.python.api.tree.Tree;
 import org.sonar.plugins.python.api.types.InferredType;
 import org.sonar.python.PythonTestUtils;
+import org.sonar.python.tree.TreeUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.sonar.python.PythonTestUtils.getLastDescendant;
@@ -600,4 +605,47 @@ public class TypeInferenceTest {
       "  x"
     ).type()).isEqualTo(anyType());
   }
+
+  @Test
+  public void functions_inferred_concurrently() {
+    String[] code = {
+      "def f(x: int):",
+      "  a = 42",
+      "  def g():",
+      "    b = 'abc'",
+      "    return a, b",
+      "  def h(p: str):",
+      "    try:",
+      "      c = p.upper()",
+      "    except: ...",
+      "    return c",
+      "  return a, x",
+      "class A:",
+      "  def m(self):",
+      "    d = []",
+      "    return d.copy(), self",
+      "def k():",
+      "  e = {}",
+      "  for i in range(3):",
+      "    if i > 0: f = e.copy()",
+      "    else: e = 'abc'",
+      "  return e, f"
+    };
+    FileInput sequential = parse(code);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      FileInput concurrent = pool.invoke(ForkJoinTask.adapt(() -> parse(code)));
+      List<String> sequentialTypes = nameTypes(sequential);
+      assertThat(sequentialTypes).contains("a:" + INT, "b:" + STR, "d:" + LIST);
+      assertThat(nameTypes(concurrent)).containsExactlyElementsOf(sequentialTypes);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static List<String> nameTypes(FileInput fileInput) {
+    return TreeUtils.descendantsOfKind(fileInput, Tree.Kind.NAME).stream()
+      .map(name -> ((Name) name).name() + ":" + ((Name) name).type())
+      .collect(Collectors.toList());
+  }
 }
@@ -0,0 +1,8 @@
+import os
+import os.path
+from subprocess import Popen
+
+os.system("ls")
+os.path.join("a", "b")
+Popen("ls")
+unknown()
@@ -0,0 +1,13 @@
+def outer(): # +1 function
+    if a: # +1 if-statement
+        pass
+    class Inner:
+        def method(self): # +1 function
+            return x if y else z # +1 conditional expression
+    def nested(): # +1 function
+        def deepest(): # +1 function
+            while a and b: # +1 while-statement +1 and
+                pass
+        for x in y: # +1 for-statement
+            pass
+    return [x for x in y if x] # +1 comprehension-if
@@ -0,0 +1,76 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import org.sonar.api.batch.InstantiationStrategy;
+import org.sonar.api.batch.ScannerSide;
+
+/**
+ * Children of the directories listed while looking for reports. It is shared by the report sensors, so a directory is
+ * listed from the disk at most once per analysis, whatever the number of sensors and report path patterns looking into it.
+ */
+@ScannerSide
+@InstantiationStrategy("PER_BATCH")
+public class DirectoryListingCache {
+
+  /**
+   * Children of each listed directory, mapped to whether they are directories themselves.
+   */
+  private final Map<File, Map<File, Boolean>> childrenByDirectory = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the children of the directory accepted by the filter, which is given each child and whether it is a directory.
+   * Children which are directories are mapped to true.
+   */
+  Map<File, Boolean> children(File directory, BiPredicate<File, Boolean> filter) {
+    Map<File, Boolean> cachedChildren = childrenByDirectory.get(directory);
+    Map<File, Boolean> acceptedChildren = new LinkedHashMap<>();
+    if (cachedChildren != null) {
+      cachedChildren.forEach((child, isDirectory) -> {
+        if (filter.test(child, isDirectory)) {
+          acceptedChildren.put(child, isDirectory);
+        }
+      });
+      return acceptedChildren;
+    }
+
+    Map<File, Boolean> listedChildren = new LinkedHashMap<>();
+    File[] files = directory.listFiles(child -> {
+      boolean isDirectory = child.isDirectory();
+      listedChildren.put(child, isDirectory);
+      return filter.test(child, isDirectory);
+    });
+    if (files == null) {
+      return acceptedChildren;
+    }
+    childrenByDirectory.put(directory, listedChildren);
+    for (File file : files) {
+      Boolean isDirectory = listedChildren.get(file);
+      acceptedChildren.put(file, isDirectory != null ? isDirectory : file.isDirectory());
+    }
+    return acceptedChildren;
+  }
+
+}
@@ -22,39 +22,134 @@ package org.sonar.plugins.python;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import org.apache.commons.io.FileUtils;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.lang.StringUtils;
 import org.sonar.api.utils.WildcardPattern;
 
+/**
+ * Lists the files of a base directory matching a {@link WildcardPattern}. The walk starts from the longest directory prefix
+ * of the pattern without wildcards, and does not descend into directories whose path cannot be the beginning of a match.
+ */
 public class DirectoryScanner {
 
+  private static final String WILDCARDS = "*?";
+  private static final String SPECIAL_CHARS = "()[]^$.{}+|";
+
   private final File baseDir;
   private final WildcardPattern pattern;
+  private final DirectoryListingCache directoryListingCache;
 
   public DirectoryScanner(File baseDir, WildcardPattern pattern) {
+    this(baseDir, pattern, new DirectoryListingCache());
+  }
+
+  public DirectoryScanner(File baseDir, WildcardPattern pattern, DirectoryListingCache directoryListingCache) {
     this.baseDir = baseDir;
     this.pattern = pattern;
+    this.directoryListingCache = directoryListingCache;
   }
 
   public List<File> getIncludedFiles() {
-    final String baseDirAbsolutePath = baseDir.getAbsolutePath();
-    IOFileFilter fileFilter = new IOFileFilter() {
+    String baseDirAbsolutePath = baseDir.getAbsolutePath();
+    Pattern directoryPattern = toRegexp(pattern.toString());
+    List<File> includedFiles = new ArrayList<>();
+    walk(startDirectory(), includedFiles, (file, isDirectory) -> {
+      String path = relativePath(baseDirAbsolutePath, file);
+      return isDirectory ? canContainMatch(directoryPattern, path) : pattern.match(path);
+    });
+    return includedFiles;
+  }
 
-      @Override
-      public boolean accept(File dir, String name) {
-        return accept(new File(dir, name));
+  private void walk(File directory, List<File> includedFiles, BiPredicate<File, Boolean> filter) {
+    for (Map.Entry<File, Boolean> child : directoryListingCache.children(directory, filter).entrySet()) {
+      if (Boolean.TRUE.equals(child.getValue())) {
+        walk(child.getKey(), includedFiles, filter);
+      } else {
+        includedFiles.add(child.getKey());
       }
+    }
+  }
 
-      @Override
-      public boolean accept(File file) {
-        String path = file.getAbsolutePath();
-        path = path.substring(Math.min(baseDirAbsolutePath.length(), path.length()));
-        return pattern.match(FilenameUtils.separatorsToUnix(path));
+  /**
+   * The deepest directory all matching files are in: the directories of the pattern before the first wildcard.
+   */
+  private File startDirectory() {
+    String patternString = pattern.toString();
+    if (!patternString.isEmpty() && isSlash(patternString.charAt(0))) {
+      patternString = patternString.substring(1);
+    }
+    int firstWildcard = StringUtils.indexOfAny(patternString, WILDCARDS);
+    String literalPrefix = firstWildcard < 0 ? patternString : patternString.substring(0, firstWildcard);
+    int lastSlash = StringUtils.lastIndexOfAny(literalPrefix, new String[] {"/", "\\"});
+    if (lastSlash <= 0) {
+      return baseDir;
+    }
+    String directories = literalPrefix.substring(0, lastSlash);
+    for (String directory : directories.split("[/\\\\]", -1)) {
+      // "." and ".." never appear in the relative paths matched against the pattern, the walk from the base directory finds nothing
+      if (directory.isEmpty() || ".".equals(directory) || "..".equals(directory)) {
+        return baseDir;
       }
-    };
-    return new ArrayList<>(FileUtils.listFiles(baseDir, fileFilter, TrueFileFilter.INSTANCE));
+    }
+    return new File(baseDir, FilenameUtils.separatorsToSystem(directories));
+  }
+
+  private static String relativePath(String baseDirAbsolutePath, File file) {
+    String path = file.getAbsolutePath();
+    path = path.substring(Math.min(baseDirAbsolutePath.length(), path.length()));
+    return FilenameUtils.separatorsToUnix(path);
+  }
+
+  /**
+   * Returns true when some file under the directory could match the pattern, i.e. when the regular expression of the pattern
+   * either matches the directory path followed by a slash or needs more input to decide.
+   */
+  private static boolean canContainMatch(Pattern directoryPattern, String directoryPath) {
+    String path = directoryPath.startsWith("/") ? directoryPath.substring(1) : directoryPath;
+    Matcher matcher = directoryPattern.matcher(path + "/");
+    return matcher.matches() || matcher.hitEnd();
+  }
+
+  /**
+   * Same translation of the pattern to a regular expression as {@link WildcardPattern}, which does not expose it.
+   */
+  private static Pattern toRegexp(String wildcardPattern) {
+    StringBuilder sb = new StringBuilder(wildcardPattern.length());
+    int i = wildcardPattern.startsWith("/") || wildcardPattern.startsWith("\\") ? 1 : 0;
+    while (i < wildcardPattern.length()) {
+      char ch = wildcardPattern.charAt(i);
+      if (SPECIAL_CHARS.indexOf(ch) != -1) {
+        sb.append('\\').append(ch);
+      } else if (ch == '*') {
+        if (i + 1 < wildcardPattern.length() && wildcardPattern.charAt(i + 1) == '*') {
+          if (i + 2 < wildcardPattern.length() && isSlash(wildcardPattern.charAt(i + 2))) {
+            sb.append("(?:.*/|)");
+            i += 2;
+          } else {
+            sb.append(".*");
+            i += 1;
+          }
+        } else {
+          sb.append("[^/]*?");
+        }
+      } else if (ch == '?') {
+        sb.append("[^/]");
+      } else if (isSlash(ch)) {
+        sb.append('/');
+      } else {
+        sb.append(ch);
+      }
+      i++;
+    }
+    return Pattern.compile(sb.toString());
+  }
+
+  private static boolean isSlash(char ch) {
+    return ch == '/' || ch == '\\';
   }
 
 }
@@ -0,0 +1,81 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.CheckForNull;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.TextRange;
+
+/**
+ * Input files and lines referenced by the issues of external reports, cached for the execution of a sensor as reports
+ * usually contain many issues on the same few files.
+ * Paths which cannot be resolved are cached as well, and reported by {@link #unresolvedPaths()}.
+ */
+public class ExternalIssueFiles {
+
+  private final FileSystem fileSystem;
+  private final Map<String, Optional<InputFile>> inputFilesByPath = new HashMap<>();
+  private final Map<InputFile, TextRange[]> linesByInputFile = new HashMap<>();
+
+  public ExternalIssueFiles(FileSystem fileSystem) {
+    this.fileSystem = fileSystem;
+  }
+
+  @CheckForNull
+  public InputFile inputFile(String path) {
+    return inputFilesByPath.computeIfAbsent(path, p -> Optional.ofNullable(fileSystem.inputFile(fileSystem.predicates().hasPath(p)))).orElse(null);
+  }
+
+  /**
+   * Same as {@link InputFile#selectLine(int)}, including the exception thrown for lines out of the file.
+   */
+  public TextRange selectLine(InputFile inputFile, int line) {
+    TextRange[] lines = linesByInputFile.computeIfAbsent(inputFile, f -> new TextRange[f.lines() + 1]);
+    if (line < 1 || line >= lines.length) {
+      return inputFile.selectLine(line);
+    }
+    TextRange textRange = lines[line];
+    if (textRange == null) {
+      textRange = inputFile.selectLine(line);
+      lines[line] = textRange;
+    }
+    return textRange;
+  }
+
+  public int lineEndOffset(InputFile inputFile, int line) {
+    return selectLine(inputFile, line).end().lineOffset();
+  }
+
+  public Set<String> unresolvedPaths() {
+    Set<String> unresolvedPaths = new TreeSet<>();
+    inputFilesByPath.forEach((path, inputFile) -> {
+      if (!inputFile.isPresent()) {
+        unresolvedPaths.add(path);
+      }
+    });
+    return unresolvedPaths;
+  }
+}
@@ -22,7 +22,6 @@ package org.sonar.plugins.python;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -56,19 +55,19 @@ public abstract class ExternalIssuesSensor implements Sensor {
 
   @Override
   public void execute(SensorContext context) {
-    Set<String> unresolvedInputFiles = new HashSet<>();
+    ExternalIssueFiles externalIssueFiles = new ExternalIssueFiles(context.fileSystem());
     List<File> reportFiles = ExternalReportProvider.getReportFiles(context, reportPathKey());
     if (reportFiles.isEmpty() && context.config().hasKey(PYLINT_LEGACY_KEY)) {
       reportFiles = ExternalReportProvider.getReportFiles(context, PYLINT_LEGACY_KEY);
       logger().warn("The use of '{}' is deprecated. Please use the '{}' property instead.", PYLINT_LEGACY_KEY, PylintSensor.REPORT_PATH_KEY);
     }
-    reportFiles.forEach(report -> importExternalReport(report, context, unresolvedInputFiles));
-    logUnresolvedInputFiles(unresolvedInputFiles);
+    reportFiles.forEach(report -> importExternalReport(report, context, externalIssueFiles));
+    logUnresolvedInputFiles(externalIssueFiles.unresolvedPaths());
   }
 
-  private void importExternalReport(File reportPath, SensorContext context, Set<String> unresolvedInputFiles) {
+  private void importExternalReport(File reportPath, SensorContext context, ExternalIssueFiles externalIssueFiles) {
     try {
-      importReport(reportPath, context, unresolvedInputFiles);
+      importReport(reportPath, context, externalIssueFiles);
     } catch (IOException | ParseException | RuntimeException e) {
       logFileCantBeRead(e, reportPath);
     }
@@ -90,10 +89,9 @@ public abstract class ExternalIssuesSensor implements Sensor {
       , reportPath, e.getClass().getSimpleName(), e.getMessage());
   }
 
-  protected void saveIssue(SensorContext context, TextReportReader.Issue issue, Set<String> unresolvedInputFiles, String linterKey) {
-    InputFile inputFile = context.fileSystem().inputFile(context.fileSystem().predicates().hasPath(issue.filePath));
+  protected void saveIssue(SensorContext context, TextReportReader.Issue issue, ExternalIssueFiles externalIssueFiles, String linterKey) {
+    InputFile inputFile = externalIssueFiles.inputFile(issue.filePath);
     if (inputFile == null) {
-      unresolvedInputFiles.add(issue.filePath);
       return;
     }
 
@@ -106,11 +104,13 @@ public abstract class ExternalIssuesSensor implements Sensor {
     NewIssueLocation primaryLocation = newExternalIssue.newLocation()
       .message(issue.message)
       .on(inputFile);
-    if (issue.columnNumber != null && issue.columnNumber < inputFile.selectLine(issue.lineNumber).end().lineOffset()) {
+    if (hasValidRange(inputFile, issue, externalIssueFiles)) {
+      primaryLocation.at(inputFile.newRange(issue.lineNumber, issue.columnNumber, issue.endLineNumber, issue.endColumnNumber));
+    } else if (issue.columnNumber != null && issue.columnNumber < externalIssueFiles.lineEndOffset(inputFile, issue.lineNumber)) {
       primaryLocation.at(inputFile.newRange(issue.lineNumber, issue.columnNumber, issue.lineNumber, issue.columnNumber + 1));
     } else {
       // Pylint formatted issues might not provide column information
-      primaryLocation.at(inputFile.selectLine(issue.lineNumber));
+      primaryLocation.at(externalIssueFiles.selectLine(inputFile, issue.lineNumber));
     }
 
     newExternalIssue.at(primaryLocation);
@@ -118,7 +118,21 @@ public abstract class ExternalIssuesSensor implements Sensor {
     newExternalIssue.save();
   }
 
-  protected abstract void importReport(File reportPath, SensorContext context, Set<String> unresolvedInputFiles) throws IOException, ParseException;
+  /**
+   * Reports providing the end of issues, like Pylint JSON reports, are imported with their exact range when it is inside the file.
+   */
+  private static boolean hasValidRange(InputFile inputFile, TextReportReader.Issue issue, ExternalIssueFiles externalIssueFiles) {
+    Integer column = issue.columnNumber;
+    Integer endLine = issue.endLineNumber;
+    Integer endColumn = issue.endColumnNumber;
+    if (column == null || endLine == null || endColumn == null || endLine < issue.lineNumber || endLine > inputFile.lines()) {
+      return false;
+    }
+    boolean nonEmpty = endLine > issue.lineNumber || endColumn > column;
+    return nonEmpty && column < externalIssueFiles.lineEndOffset(inputFile, issue.lineNumber) && endColumn <= externalIssueFiles.lineEndOffset(inputFile, endLine);
+  }
+
+  protected abstract void importReport(File reportPath, SensorContext context, ExternalIssueFiles externalIssueFiles) throws IOException, ParseException;
 
   protected abstract boolean shouldExecute(Configuration conf);
 
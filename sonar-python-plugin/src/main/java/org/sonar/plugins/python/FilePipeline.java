@@ -0,0 +1,114 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Prepares files ahead of their analysis on a small pool of threads, so that reading and parsing the next files overlaps with
+ * the analysis of the current one. Prepared files are handed over in the order of the given list, and at most {@code capacity}
+ * of them are waiting to be analyzed.
+ * A preparation must only depend on its file, as it runs concurrently with the analysis of the previous files.
+ */
+class FilePipeline<T> implements AutoCloseable {
+
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  @FunctionalInterface
+  interface Stage<T> {
+    T prepare(InputFile inputFile) throws IOException;
+  }
+
+  private final Stage<T> stage;
+  private final Iterator<InputFile> pendingFiles;
+  private final Deque<Future<T>> preparedFiles = new ArrayDeque<>();
+  private final int capacity;
+  @Nullable
+  private final ExecutorService executor;
+
+  FilePipeline(List<InputFile> files, Stage<T> stage, int threads, int capacity) {
+    this.stage = stage;
+    this.pendingFiles = files.iterator();
+    this.capacity = Math.max(1, capacity);
+    if (threads > 0 && files.size() > 1) {
+      this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable, "python-file-pipeline-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      fill();
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Returns the preparation of the next file of the list, waiting for it if needed.
+   * Exceptions thrown by the preparation of the file are rethrown.
+   */
+  T next() throws IOException {
+    if (executor == null) {
+      return stage.prepare(pendingFiles.next());
+    }
+    Future<T> preparedFile = preparedFiles.remove();
+    fill();
+    try {
+      return preparedFile.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while preparing the file", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private void fill() {
+    while (preparedFiles.size() < capacity && pendingFiles.hasNext()) {
+      InputFile inputFile = pendingFiles.next();
+      preparedFiles.add(executor.submit(() -> stage.prepare(inputFile)));
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
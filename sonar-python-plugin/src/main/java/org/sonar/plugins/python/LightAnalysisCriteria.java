@@ -0,0 +1,70 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.config.Configuration;
+
+/**
+ * Selects the files which only go through the light analysis: lexer-level metrics, CPD tokens and highlighting are computed
+ * from their token sequence, without building the syntax tree nor executing any rule.
+ */
+class LightAnalysisCriteria {
+
+  private static final Pattern GENERATED_FILE_NAME = Pattern.compile(".*_pb2(_grpc)?\\.py");
+  private static final List<String> GENERATED_CODE_MARKERS = Arrays.asList("DO NOT EDIT", "@generated", "Generated by the protocol buffer compiler");
+  private static final int HEADER_LENGTH = 1000;
+
+  private final int linesThreshold;
+  private final int tokensThreshold;
+  private final boolean generatedFiles;
+
+  LightAnalysisCriteria(Configuration config) {
+    this.linesThreshold = config.getInt(PythonPlugin.LIGHT_ANALYSIS_LINES_THRESHOLD_KEY).orElse(0);
+    this.tokensThreshold = config.getInt(PythonPlugin.LIGHT_ANALYSIS_TOKENS_THRESHOLD_KEY).orElse(0);
+    this.generatedFiles = config.getBoolean(PythonPlugin.LIGHT_ANALYSIS_GENERATED_FILES_KEY).orElse(false);
+  }
+
+  /**
+   * Criteria which do not require lexing the file.
+   */
+  boolean matches(InputFile inputFile, String content) {
+    return (linesThreshold > 0 && inputFile.lines() > linesThreshold) || (generatedFiles && isGenerated(inputFile, content));
+  }
+
+  boolean hasTokensThreshold() {
+    return tokensThreshold > 0;
+  }
+
+  boolean exceedsTokensThreshold(int numberOfTokens) {
+    return hasTokensThreshold() && numberOfTokens > tokensThreshold;
+  }
+
+  private static boolean isGenerated(InputFile inputFile, String content) {
+    if (GENERATED_FILE_NAME.matcher(inputFile.filename()).matches()) {
+      return true;
+    }
+    String header = content.substring(0, Math.min(content.length(), HEADER_LENGTH));
+    return GENERATED_CODE_MARKERS.stream().anyMatch(header::contains);
+  }
+}
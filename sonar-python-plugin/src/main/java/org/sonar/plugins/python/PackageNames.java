@@ -0,0 +1,78 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Package names of the Python files of a project: the names of the consecutive parent directories containing an "__init__.py"
+ * file, up to the base directory, as computed by {@link org.sonar.python.semantic.SymbolUtils#pythonPackageName}.
+ * The package name of each directory is computed once, and directories containing an indexed "__init__.py" file are
+ * known without accessing the disk. Other directories are checked on the disk once, to find "__init__.py" files excluded
+ * from the analysis.
+ */
+class PackageNames {
+
+  private static final String INIT_FILE_NAME = "__init__.py";
+
+  private final File baseDir;
+  private final Set<File> indexedPackageDirectories = new HashSet<>();
+  private final Map<File, String> packageNamesByDirectory = new HashMap<>();
+
+  PackageNames(FileSystem fileSystem) {
+    this.baseDir = fileSystem.baseDir().getAbsoluteFile();
+    for (InputFile initFile : fileSystem.inputFiles(fileSystem.predicates().hasFilename(INIT_FILE_NAME))) {
+      indexedPackageDirectories.add(initFile.file().getAbsoluteFile().getParentFile());
+    }
+  }
+
+  String packageName(InputFile inputFile) {
+    return packageName(inputFile.file().getAbsoluteFile().getParentFile());
+  }
+
+  private String packageName(@Nullable File directory) {
+    if (directory == null || directory.equals(baseDir)) {
+      return "";
+    }
+    String packageName = packageNamesByDirectory.get(directory);
+    if (packageName == null) {
+      if (isPackage(directory)) {
+        String parentPackageName = packageName(directory.getParentFile());
+        packageName = parentPackageName.isEmpty() ? directory.getName() : (parentPackageName + "." + directory.getName());
+      } else {
+        packageName = "";
+      }
+      packageNamesByDirectory.put(directory, packageName);
+    }
+    return packageName;
+  }
+
+  private boolean isPackage(File directory) {
+    return indexedPackageDirectories.contains(directory) || new File(directory, INIT_FILE_NAME).exists();
+  }
+
+}
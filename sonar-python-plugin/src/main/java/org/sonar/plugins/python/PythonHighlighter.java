@@ -21,6 +21,7 @@ package org.sonar.plugins.python;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputFile;
@@ -30,6 +31,7 @@ import org.sonar.api.batch.sensor.highlighting.TypeOfText;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
 import org.sonar.python.SubscriptionVisitor;
+import org.sonar.python.LineIndex;
 import org.sonar.python.TokenLocation;
 import org.sonar.python.api.PythonKeyword;
 import org.sonar.python.api.PythonTokenType;
@@ -93,6 +95,8 @@ public class PythonHighlighter extends PythonSubscriptionCheck {
 
   private Set<Token> docStringTokens;
 
+  private LineIndex lineIndex;
+
   public PythonHighlighter(SensorContext context, InputFile inputFile) {
     docStringTokens = new HashSet<>();
     newHighlighting = context.newHighlighting();
@@ -101,9 +105,23 @@ public class PythonHighlighter extends PythonSubscriptionCheck {
 
   @Override
   public void scanFile(PythonVisitorContext visitorContext) {
+    lineIndex = visitorContext.lineIndex();
     SubscriptionVisitor.analyze(Collections.singletonList(this), visitorContext);
   }
 
+  /**
+   * Highlights the file from its token sequence only, without syntax tree.
+   */
+  public void scanTokens(List<Token> tokens, Set<Token> docstringTokens, LineIndex fileLineIndex) {
+    lineIndex = fileLineIndex;
+    for (Token docstringToken : docstringTokens) {
+      highlight(docstringToken, TypeOfText.STRUCTURED_COMMENT);
+    }
+    docStringTokens.addAll(docstringTokens);
+    tokens.forEach(this::visitToken);
+    leaveFile();
+  }
+
   @Override
   public void initialize(Context context) {
     context.registerSyntaxNodeConsumer(Tree.Kind.FILE_INPUT, ctx -> checkFirstStatement(((FileInput) ctx.syntaxNode()).docstring()));
@@ -153,7 +171,7 @@ public class PythonHighlighter extends PythonSubscriptionCheck {
   }
 
   private void highlight(Token token, TypeOfText typeOfText) {
-    TokenLocation tokenLocation = new TokenLocation(token);
+    TokenLocation tokenLocation = new TokenLocation(token, lineIndex);
     newHighlighting.highlight(tokenLocation.startLine(), tokenLocation.startLineOffset(), tokenLocation.endLine(), tokenLocation.endLineOffset(), typeOfText);
   }
 
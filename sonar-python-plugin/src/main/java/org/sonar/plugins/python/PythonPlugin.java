@@ -46,6 +46,12 @@ public class PythonPlugin implements Plugin {
   private static final String DEPRECATED_PREFIX = "DEPRECATED : Use " + PythonCoverageSensor.REPORT_PATHS_KEY + " instead. ";
 
   public static final String FILE_SUFFIXES_KEY = "sonar.python.file.suffixes";
+  public static final String FILE_TIMEOUT_KEY = "sonar.python.analysis.fileTimeout";
+  public static final String LIGHT_ANALYSIS_LINES_THRESHOLD_KEY = "sonar.python.lightAnalysis.linesThreshold";
+  public static final String LIGHT_ANALYSIS_TOKENS_THRESHOLD_KEY = "sonar.python.lightAnalysis.tokensThreshold";
+  public static final String LIGHT_ANALYSIS_GENERATED_FILES_KEY = "sonar.python.lightAnalysis.generatedFiles";
+  public static final String ANALYSIS_PARALLELISM_KEY = "sonar.python.analysis.parallelism";
+  private static final String LIGHT_ANALYSIS_DESCRIPTION = "Light analysis only computes lexer-level metrics, duplications and highlighting, no rule is executed. ";
 
   @Override
   public void define(Context context) {
@@ -61,6 +67,60 @@ public class PythonPlugin implements Plugin {
         .onQualifiers(Qualifiers.PROJECT)
         .defaultValue("py")
         .build(),
+      PropertyDefinition.builder(FILE_TIMEOUT_KEY)
+        .index(11)
+        .name("File Analysis Timeout")
+        .description("Maximum time in milliseconds spent analyzing a single file. When exceeded, remaining rules are skipped for that file " +
+          "while metrics and highlighting are still computed. Zero or a negative value means no limit.")
+        .category(PYTHON_CATEGORY)
+        .subCategory(GENERAL)
+        .onQualifiers(Qualifiers.PROJECT)
+        .type(PropertyType.LONG)
+        .defaultValue("0")
+        .build(),
+      PropertyDefinition.builder(LIGHT_ANALYSIS_LINES_THRESHOLD_KEY)
+        .index(12)
+        .name("Light Analysis Lines Threshold")
+        .description(LIGHT_ANALYSIS_DESCRIPTION + "Files with more lines than this threshold go through light analysis. Zero means no threshold.")
+        .category(PYTHON_CATEGORY)
+        .subCategory(GENERAL)
+        .onQualifiers(Qualifiers.PROJECT)
+        .type(PropertyType.INTEGER)
+        .defaultValue("0")
+        .build(),
+      PropertyDefinition.builder(LIGHT_ANALYSIS_TOKENS_THRESHOLD_KEY)
+        .index(13)
+        .name("Light Analysis Tokens Threshold")
+        .description(LIGHT_ANALYSIS_DESCRIPTION + "Files with more tokens than this threshold go through light analysis. Zero means no threshold.")
+        .category(PYTHON_CATEGORY)
+        .subCategory(GENERAL)
+        .onQualifiers(Qualifiers.PROJECT)
+        .type(PropertyType.INTEGER)
+        .defaultValue("0")
+        .build(),
+      PropertyDefinition.builder(LIGHT_ANALYSIS_GENERATED_FILES_KEY)
+        .index(14)
+        .name("Light Analysis of Generated Files")
+        .description(LIGHT_ANALYSIS_DESCRIPTION + "When enabled, generated files (e.g. \"_pb2.py\" protobuf modules or files whose header " +
+          "contains \"DO NOT EDIT\" or \"@generated\") go through light analysis.")
+        .category(PYTHON_CATEGORY)
+        .subCategory(GENERAL)
+        .onQualifiers(Qualifiers.PROJECT)
+        .type(PropertyType.BOOLEAN)
+        .defaultValue("false")
+        .build(),
+      PropertyDefinition.builder(ANALYSIS_PARALLELISM_KEY)
+        .index(15)
+        .name("Analysis Parallelism")
+        .description("Number of threads used to analyze a single file: type inference of independent functions runs concurrently and " +
+          "rules are partitioned into as many groups executed concurrently. Reduces the analysis time of large files on multi-core machines. " +
+          "One or less means that a file is analyzed sequentially.")
+        .category(PYTHON_CATEGORY)
+        .subCategory(GENERAL)
+        .onQualifiers(Qualifiers.PROJECT)
+        .type(PropertyType.INTEGER)
+        .defaultValue("1")
+        .build(),
 
 
       Python.class,
@@ -72,7 +132,7 @@ public class PythonPlugin implements Plugin {
 
     SonarRuntime sonarRuntime = context.getRuntime();
     if (sonarRuntime.getProduct() != SonarProduct.SONARLINT) {
-      context.addExtension(DefaultAnalysisWarningsWrapper.class);
+      context.addExtensions(DefaultAnalysisWarningsWrapper.class, DirectoryListingCache.class);
       addCoberturaExtensions(context);
       addXUnitExtensions(context);
       addPylintExtensions(context);
@@ -38,11 +38,17 @@ public abstract class PythonReportSensor implements Sensor {
   protected final Configuration conf;
   private final AnalysisWarningsWrapper analysisWarnings;
   private final String reportType;
+  private final DirectoryListingCache directoryListingCache;
 
   public PythonReportSensor(Configuration conf, AnalysisWarningsWrapper analysisWarnings, String reportType) {
+    this(conf, analysisWarnings, reportType, new DirectoryListingCache());
+  }
+
+  public PythonReportSensor(Configuration conf, AnalysisWarningsWrapper analysisWarnings, String reportType, DirectoryListingCache directoryListingCache) {
     this.conf = conf;
     this.analysisWarnings = analysisWarnings;
     this.reportType = reportType;
+    this.directoryListingCache = directoryListingCache;
   }
 
   @Override
@@ -58,7 +64,7 @@ public abstract class PythonReportSensor implements Sensor {
     String reportPathPropertyKey = reportPathKey();
     String reportPath = conf.get(reportPathPropertyKey).orElse(defaultReportPath());
     try {
-      List<File> reports = getReports(conf, context.fileSystem().baseDir().getPath(), reportPathPropertyKey, reportPath);
+      List<File> reports = getReports(conf, context.fileSystem().baseDir().getPath(), reportPathPropertyKey, reportPath, directoryListingCache);
       processReports(context, reports);
     } catch (Exception e) {
       LOG.warn("Cannot read report '{}', the following exception occurred: {}", reportPath, e.getMessage());
@@ -67,9 +73,14 @@ public abstract class PythonReportSensor implements Sensor {
   }
 
   public static List<File> getReports(Configuration conf, String baseDirPath, String reportPathPropertyKey, String reportPath) {
+    return getReports(conf, baseDirPath, reportPathPropertyKey, reportPath, new DirectoryListingCache());
+  }
+
+  public static List<File> getReports(Configuration conf, String baseDirPath, String reportPathPropertyKey, String reportPath,
+    DirectoryListingCache directoryListingCache) {
     LOG.debug("Using pattern '{}' to find reports", reportPath);
 
-    DirectoryScanner scanner = new DirectoryScanner(new File(baseDirPath), WildcardPattern.create(reportPath));
+    DirectoryScanner scanner = new DirectoryScanner(new File(baseDirPath), WildcardPattern.create(reportPath), directoryListingCache);
     List<File> includedFiles = scanner.getIncludedFiles();
 
     if (includedFiles.isEmpty()) {
@@ -27,10 +27,16 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.sonar.api.SonarProduct;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.TextRange;
@@ -52,39 +58,68 @@ import org.sonar.plugins.python.api.PythonFile;
 import org.sonar.plugins.python.api.PythonSubscriptionCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
 import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.cpd.PythonCpdAnalyzer;
+import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
+import org.sonar.python.AnalysisBudget;
+import org.sonar.python.DocstringExtractor;
+import org.sonar.python.LineIndex;
 import org.sonar.python.SubscriptionVisitor;
+import org.sonar.python.api.PythonKeyword;
+import org.sonar.python.lexer.PythonTokenizer;
 import org.sonar.python.metrics.FileLinesVisitor;
 import org.sonar.python.metrics.FileMetrics;
 import org.sonar.python.parser.PythonParser;
 import org.sonar.python.semantic.ProjectLevelSymbolTable;
 import org.sonar.python.tree.PythonTreeMaker;
 
-import static org.sonar.python.semantic.SymbolUtils.pythonPackageName;
-
-public class PythonScanner extends Scanner {
+public class PythonScanner extends Scanner<PythonScanner.ParsedFile> {
 
   private static final Logger LOG = Loggers.get(PythonScanner.class);
 
-  private final PythonParser parser;
+  // parsers and tokenizers are not thread-safe, files are parsed on the threads of the pipeline
+  private final ThreadLocal<PythonParser> parser = ThreadLocal.withInitial(PythonParser::create);
+  private final ThreadLocal<PythonTokenizer> tokenizer = ThreadLocal.withInitial(PythonTokenizer::new);
   private final Map<InputFile, String> packageNames = new HashMap<>();
+  private final Set<InputFile> lightAnalysisFiles = new HashSet<>();
+  private final Map<String, Optional<InputFile>> inputFilesById = new HashMap<>();
+  private final Map<InputFile, Map<Integer, TextRange>> lineRanges = new HashMap<>();
+  private final LightAnalysisCriteria lightAnalysisCriteria;
   private final PythonChecks checks;
   private final FileLinesContextFactory fileLinesContextFactory;
   private final NoSonarFilter noSonarFilter;
   private final PythonCpdAnalyzer cpdAnalyzer;
   private final ProjectLevelSymbolTable projectLevelSymbolTable = new ProjectLevelSymbolTable();
+  private final long fileTimeoutMillis;
+  private final int analysisParallelism;
+  // created by "execute" only, so that it cannot outlive the analysis when the project level symbol table cannot be built
+  @Nullable
+  private ForkJoinPool analysisPool;
+  @Nullable
+  private final AnalysisWarningsWrapper analysisWarnings;
 
 
   public PythonScanner(
     SensorContext context, PythonChecks checks,
     FileLinesContextFactory fileLinesContextFactory, NoSonarFilter noSonarFilter, List<InputFile> files
+  ) {
+    this(context, checks, fileLinesContextFactory, noSonarFilter, files, null);
+  }
+
+  public PythonScanner(
+    SensorContext context, PythonChecks checks,
+    FileLinesContextFactory fileLinesContextFactory, NoSonarFilter noSonarFilter, List<InputFile> files,
+    @Nullable AnalysisWarningsWrapper analysisWarnings
   ) {
     super(context);
     this.checks = checks;
     this.fileLinesContextFactory = fileLinesContextFactory;
     this.noSonarFilter = noSonarFilter;
     this.cpdAnalyzer = new PythonCpdAnalyzer(context);
-    this.parser = PythonParser.create();
+    this.analysisWarnings = analysisWarnings;
+    this.fileTimeoutMillis = context.config().getLong(PythonPlugin.FILE_TIMEOUT_KEY).orElse(0L);
+    this.lightAnalysisCriteria = new LightAnalysisCriteria(context.config());
+    this.analysisParallelism = context.config().getInt(PythonPlugin.ANALYSIS_PARALLELISM_KEY).orElse(1);
 
     // computes "globalSymbolsByModuleName"
     long startTime = System.currentTimeMillis();
@@ -94,21 +129,48 @@ public class PythonScanner extends Scanner {
     LOG.debug("Time to build the project level symbol table: " + stopTime + "ms");
   }
 
+  @Override
+  void execute(List<InputFile> files, SensorContext context) {
+    analysisPool = analysisParallelism > 1 ? new ForkJoinPool(analysisParallelism) : null;
+    try {
+      super.execute(files, context);
+    } finally {
+      if (analysisPool != null) {
+        analysisPool.shutdown();
+      }
+    }
+  }
+
   @Override
   protected String name() {
     return "rules execution";
   }
 
   @Override
-  protected void scanFile(InputFile inputFile) {
-    PythonFile pythonFile = SonarQubePythonFile.create(inputFile);
+  protected ParsedFile prepareFile(InputFile inputFile) throws IOException {
+    String content = inputFile.contents();
+    if (lightAnalysisFiles.contains(inputFile)) {
+      return ParsedFile.light(content, tokenizer.get().tokenize(content));
+    }
+    return parse(content);
+  }
+
+  @Override
+  protected void scanFile(InputFile inputFile, ParsedFile parsedFile) {
+    PythonFile pythonFile = SonarQubePythonFile.create(inputFile, parsedFile.content);
+    if (parsedFile.tokens != null) {
+      scanFileLightly(inputFile, parsedFile.tokens, new LineIndex(parsedFile.content));
+      return;
+    }
+    AnalysisBudget analysisBudget = AnalysisBudget.startingNow(fileTimeoutMillis, parsedFile.parseNanos);
     PythonVisitorContext visitorContext;
-    try {
-      AstNode astNode = parser.parse(pythonFile.content());
-      FileInput parse = new PythonTreeMaker().fileInput(astNode);
-      visitorContext = new PythonVisitorContext(parse, pythonFile, getWorkingDirectory(context), packageNames.get(inputFile), projectLevelSymbolTable);
+    if (parsedFile.tree != null) {
+      analysisBudget.checkpoint("parse");
+      visitorContext = newVisitorContext(inputFile, pythonFile, parsedFile.tree, analysisBudget);
+      analysisBudget.checkpoint("type inference");
       saveMeasures(inputFile, visitorContext);
-    } catch (RecognitionException e) {
+    } else {
+      RecognitionException e = parsedFile.parsingException;
       visitorContext = new PythonVisitorContext(pythonFile, e);
       LOG.error("Unable to parse file: " + inputFile.toString());
       LOG.error(e.getMessage());
@@ -122,17 +184,81 @@ public class PythonScanner extends Scanner {
     for (PythonCheck check : checks.all()) {
       if (check instanceof PythonSubscriptionCheck) {
         checksBasedOnTree.add((PythonSubscriptionCheck) check);
-      } else {
+      } else if (!analysisBudget.isExceeded()) {
         check.scanFile(visitorContext);
+        analysisBudget.checkpoint("rule " + checks.ruleKey(check));
       }
     }
-    SubscriptionVisitor.analyze(checksBasedOnTree, visitorContext);
+    if (!analysisBudget.isExceeded()) {
+      SubscriptionVisitor.analyze(checksBasedOnTree, visitorContext, analysisBudget, analysisPool);
+    }
     saveIssues(inputFile, visitorContext.getIssues());
 
     if (visitorContext.rootTree() != null) {
       new SymbolVisitor(context.newSymbolTable().onFile(inputFile)).visitFileInput(visitorContext.rootTree());
       new PythonHighlighter(context, inputFile).scanFile(visitorContext);
     }
+    if (analysisBudget.isExceeded()) {
+      reportTimeout(inputFile, analysisBudget);
+    }
+  }
+
+  /**
+   * When analysis parallelism is enabled, the symbol table is built from the pool so that type inference of functions runs concurrently.
+   */
+  private PythonVisitorContext newVisitorContext(InputFile inputFile, PythonFile pythonFile, FileInput parse, AnalysisBudget analysisBudget) {
+    String packageName = packageNames.get(inputFile);
+    if (analysisPool == null) {
+      return new PythonVisitorContext(parse, pythonFile, getWorkingDirectory(context), packageName, projectLevelSymbolTable, analysisBudget);
+    }
+    return analysisPool.invoke(ForkJoinTask.adapt(() ->
+      new PythonVisitorContext(parse, pythonFile, getWorkingDirectory(context), packageName, projectLevelSymbolTable, analysisBudget)));
+  }
+
+  private ParsedFile parse(String content) {
+    return parse(content, pythonParser -> pythonParser.parse(content));
+  }
+
+  private ParsedFile parse(String content, List<com.sonar.sslr.api.Token> lexedTokens) {
+    return parse(content, pythonParser -> pythonParser.parse(lexedTokens));
+  }
+
+  private ParsedFile parse(String content, Function<PythonParser, AstNode> parsing) {
+    long startTime = System.nanoTime();
+    try {
+      AstNode astNode = parsing.apply(parser.get());
+      FileInput tree = new PythonTreeMaker().fileInput(astNode);
+      return ParsedFile.parsed(content, tree, System.nanoTime() - startTime);
+    } catch (RecognitionException e) {
+      return ParsedFile.unparsable(content, e, System.nanoTime() - startTime);
+    }
+  }
+
+  private void scanFileLightly(InputFile inputFile, List<Token> tokens, LineIndex lineIndex) {
+    LOG.debug("Light analysis of file: " + inputFile);
+    Set<Token> docstringTokens = DocstringExtractor.docstringTokens(tokens);
+    FileLinesVisitor fileLinesVisitor = new FileLinesVisitor();
+    fileLinesVisitor.scanTokens(tokens, docstringTokens, lineIndex);
+
+    cpdAnalyzer.pushCpdTokens(inputFile, tokens, lineIndex);
+    noSonarFilter.noSonarInFile(inputFile, fileLinesVisitor.getLinesWithNoSonar());
+
+    saveMetricOnFile(inputFile, CoreMetrics.NCLOC, fileLinesVisitor.getLinesOfCodeCount());
+    saveMetricOnFile(inputFile, CoreMetrics.FUNCTIONS, (int) tokens.stream().filter(token -> token.type().equals(PythonKeyword.DEF)).count());
+    saveMetricOnFile(inputFile, CoreMetrics.CLASSES, (int) tokens.stream().filter(token -> token.type().equals(PythonKeyword.CLASS)).count());
+    saveMetricOnFile(inputFile, CoreMetrics.COMMENT_LINES, fileLinesVisitor.getCommentLineCount());
+    saveLinesData(inputFile, fileLinesVisitor);
+
+    new PythonHighlighter(context, inputFile).scanTokens(tokens, docstringTokens, lineIndex);
+  }
+
+  private void reportTimeout(InputFile inputFile, AnalysisBudget analysisBudget) {
+    String message = String.format("Analysis of file \"%s\" exceeded the time budget of %dms during phase \"%s\", remaining rules were not executed.",
+      inputFile, analysisBudget.timeoutMillis(), analysisBudget.exceededPhase());
+    LOG.warn(message);
+    if (analysisWarnings != null) {
+      analysisWarnings.addWarning(message);
+    }
   }
 
   // visible for testing
@@ -146,6 +272,8 @@ public class PythonScanner extends Scanner {
   }
 
   private void saveIssues(InputFile inputFile, List<PreciseIssue> issues) {
+    // ranges of whole lines are shared by the issues of the current file only
+    lineRanges.clear();
     for (PreciseIssue preciseIssue : issues) {
       RuleKey ruleKey = checks.ruleKey(preciseIssue.check());
       NewIssue newIssue = context
@@ -165,7 +293,7 @@ public class PythonScanner extends Scanner {
       for (IssueLocation secondaryLocation : preciseIssue.secondaryLocations()) {
         String fileId = secondaryLocation.fileId();
         if (fileId != null) {
-          InputFile issueLocationFile = component(fileId, context);
+          InputFile issueLocationFile = component(fileId);
           if (issueLocationFile != null) {
             secondaryLocationsFlow.addFirst(newLocation(issueLocationFile, newIssue, secondaryLocation));
           }
@@ -183,22 +311,28 @@ public class PythonScanner extends Scanner {
     }
   }
 
+  /**
+   * Secondary locations of many issues usually point to a few modules: resolved files, as well as unknown ones, are cached
+   * for the whole analysis.
+   */
   @CheckForNull
-  private static InputFile component(String fileId, SensorContext sensorContext) {
-    InputFile inputFile = sensorContext.fileSystem().inputFile(sensorContext.fileSystem().predicates().is(new File(fileId)));
-    if (inputFile == null) {
-      LOG.debug("Failed to find InputFile for {}", fileId);
-    }
-    return inputFile;
+  private InputFile component(String fileId) {
+    return inputFilesById.computeIfAbsent(fileId, id -> {
+      InputFile inputFile = context.fileSystem().inputFile(context.fileSystem().predicates().is(new File(id)));
+      if (inputFile == null) {
+        LOG.debug("Failed to find InputFile for {}", id);
+      }
+      return Optional.ofNullable(inputFile);
+    }).orElse(null);
   }
 
-  private static NewIssueLocation newLocation(InputFile inputFile, NewIssue issue, IssueLocation location) {
+  private NewIssueLocation newLocation(InputFile inputFile, NewIssue issue, IssueLocation location) {
     NewIssueLocation newLocation = issue.newLocation()
       .on(inputFile);
     if (location.startLine() != IssueLocation.UNDEFINED_LINE) {
       TextRange range;
       if (location.startLineOffset() == IssueLocation.UNDEFINED_OFFSET) {
-        range = inputFile.selectLine(location.startLine());
+        range = lineRanges.computeIfAbsent(inputFile, f -> new HashMap<>()).computeIfAbsent(location.startLine(), inputFile::selectLine);
       } else {
         range = inputFile.newRange(location.startLine(), location.startLineOffset(), location.endLine(), location.endLineOffset());
       }
@@ -219,17 +353,19 @@ public class PythonScanner extends Scanner {
     cpdAnalyzer.pushCpdTokens(inputFile, visitorContext);
     noSonarFilter.noSonarInFile(inputFile, fileLinesVisitor.getLinesWithNoSonar());
 
-    Set<Integer> linesOfCode = fileLinesVisitor.getLinesOfCode();
-    saveMetricOnFile(inputFile, CoreMetrics.NCLOC, linesOfCode.size());
+    saveMetricOnFile(inputFile, CoreMetrics.NCLOC, fileLinesVisitor.getLinesOfCodeCount());
     saveMetricOnFile(inputFile, CoreMetrics.STATEMENTS, fileMetrics.numberOfStatements());
     saveMetricOnFile(inputFile, CoreMetrics.FUNCTIONS, fileMetrics.numberOfFunctions());
     saveMetricOnFile(inputFile, CoreMetrics.CLASSES, fileMetrics.numberOfClasses());
     saveMetricOnFile(inputFile, CoreMetrics.COMPLEXITY, fileMetrics.complexity());
     saveMetricOnFile(inputFile, CoreMetrics.COGNITIVE_COMPLEXITY, fileMetrics.cognitiveComplexity());
     saveMetricOnFile(inputFile, CoreMetrics.COMMENT_LINES, fileLinesVisitor.getCommentLineCount());
+    saveLinesData(inputFile, fileLinesVisitor);
+  }
 
+  private void saveLinesData(InputFile inputFile, FileLinesVisitor fileLinesVisitor) {
     FileLinesContext fileLinesContext = fileLinesContextFactory.createFor(inputFile);
-    for (int line : linesOfCode) {
+    for (int line : fileLinesVisitor.getLinesOfCode()) {
       fileLinesContext.setIntValue(CoreMetrics.NCLOC_DATA_KEY, line, 1);
     }
     for (int line : fileLinesVisitor.getExecutableLines()) {
@@ -246,10 +382,13 @@ public class PythonScanner extends Scanner {
       .save();
   }
 
-  private class GlobalSymbolsScanner extends Scanner {
+  private class GlobalSymbolsScanner extends Scanner<ParsedFile> {
+
+    private final PackageNames projectPackageNames;
 
     private GlobalSymbolsScanner(SensorContext context) {
       super(context);
+      this.projectPackageNames = new PackageNames(context.fileSystem());
     }
 
     @Override
@@ -258,13 +397,40 @@ public class PythonScanner extends Scanner {
     }
 
     @Override
-    protected void scanFile(InputFile inputFile) throws IOException {
-      AstNode astNode = parser.parse(inputFile.contents());
-      FileInput astRoot = new PythonTreeMaker().fileInput(astNode);
-      String packageName = pythonPackageName(inputFile.file(), context.fileSystem().baseDir());
+    protected ParsedFile prepareFile(InputFile inputFile) throws IOException {
+      String content = inputFile.contents();
+      if (lightAnalysisCriteria.matches(inputFile, content)) {
+        return ParsedFile.light(content, null);
+      }
+      ParsedFile parsedFile;
+      if (lightAnalysisCriteria.hasTokensThreshold()) {
+        // the tokens are counted on the lexing which is needed anyway to parse the file, tokens of light analysis files are
+        // not kept: they are lexed again by the rules execution pass, so that they are not all held in memory in between
+        List<com.sonar.sslr.api.Token> lexedTokens = tokenizer.get().lex(content);
+        if (lightAnalysisCriteria.exceedsTokensThreshold(lexedTokens.size())) {
+          return ParsedFile.light(content, null);
+        }
+        parsedFile = parse(content, lexedTokens);
+      } else {
+        parsedFile = parse(content);
+      }
+      if (parsedFile.parsingException != null) {
+        throw parsedFile.parsingException;
+      }
+      return parsedFile;
+    }
+
+    @Override
+    protected void scanFile(InputFile inputFile, ParsedFile parsedFile) {
+      if (parsedFile.tree == null) {
+        // project level symbols of such files are ignored
+        lightAnalysisFiles.add(inputFile);
+        return;
+      }
+      String packageName = projectPackageNames.packageName(inputFile);
       packageNames.put(inputFile, packageName);
       PythonFile pythonFile = SonarQubePythonFile.create(inputFile);
-      projectLevelSymbolTable.addModule(astRoot, packageName, pythonFile);
+      projectLevelSymbolTable.addModule(parsedFile.tree, packageName, pythonFile);
     }
 
     @Override
@@ -273,4 +439,39 @@ public class PythonScanner extends Scanner {
       LOG.debug(e.getMessage());
     }
   }
+
+  /**
+   * Content of a file with its syntax tree, or the tokens of its light analysis, computed on the threads of the pipeline.
+   */
+  static class ParsedFile {
+    private final String content;
+    @Nullable
+    private final FileInput tree;
+    @Nullable
+    private final RecognitionException parsingException;
+    @Nullable
+    private final List<Token> tokens;
+    private final long parseNanos;
+
+    private ParsedFile(String content, @Nullable FileInput tree, @Nullable RecognitionException parsingException, @Nullable List<Token> tokens,
+      long parseNanos) {
+      this.content = content;
+      this.tree = tree;
+      this.parsingException = parsingException;
+      this.tokens = tokens;
+      this.parseNanos = parseNanos;
+    }
+
+    static ParsedFile parsed(String content, FileInput tree, long parseNanos) {
+      return new ParsedFile(content, tree, null, null, parseNanos);
+    }
+
+    static ParsedFile unparsable(String content, RecognitionException parsingException, long parseNanos) {
+      return new ParsedFile(content, null, parsingException, null, parseNanos);
+    }
+
+    static ParsedFile light(String content, @Nullable List<Token> tokens) {
+      return new ParsedFile(content, null, null, tokens, 0L);
+    }
+  }
 }
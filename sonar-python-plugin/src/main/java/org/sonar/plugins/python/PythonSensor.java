@@ -19,8 +19,6 @@
  */
 package org.sonar.plugins.python;
 
-import com.sonar.sslr.api.AstNode;
-import com.sonar.sslr.api.RecognitionException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -38,34 +36,49 @@ import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.plugins.python.api.PythonCustomRuleRepository;
-import org.sonar.plugins.python.api.PythonFile;
-import org.sonar.plugins.python.api.PythonVisitorContext;
-import org.sonar.plugins.python.api.tree.FileInput;
+import org.sonar.plugins.python.api.tree.Token;
+import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
+import org.sonar.python.DocstringExtractor;
+import org.sonar.python.LineIndex;
 import org.sonar.python.checks.CheckList;
-import org.sonar.python.parser.PythonParser;
-import org.sonar.python.semantic.ProjectLevelSymbolTable;
-import org.sonar.python.tree.PythonTreeMaker;
+import org.sonar.python.lexer.PythonTokenizer;
 
 public final class PythonSensor implements Sensor {
 
   private final PythonChecks checks;
   private final FileLinesContextFactory fileLinesContextFactory;
   private final NoSonarFilter noSonarFilter;
+  @Nullable
+  private final AnalysisWarningsWrapper analysisWarnings;
 
   /**
    * Constructor to be used by pico if no PythonCustomRuleRepository are to be found and injected.
    */
   public PythonSensor(FileLinesContextFactory fileLinesContextFactory, CheckFactory checkFactory, NoSonarFilter noSonarFilter) {
-    this(fileLinesContextFactory, checkFactory, noSonarFilter, null);
+    this(fileLinesContextFactory, checkFactory, noSonarFilter, null, null);
   }
 
   public PythonSensor(FileLinesContextFactory fileLinesContextFactory, CheckFactory checkFactory, NoSonarFilter noSonarFilter,
                       @Nullable PythonCustomRuleRepository[] customRuleRepositories) {
+    this(fileLinesContextFactory, checkFactory, noSonarFilter, customRuleRepositories, null);
+  }
+
+  /**
+   * Constructor to be used by pico if no PythonCustomRuleRepository are to be found and injected, outside of SonarLint.
+   */
+  public PythonSensor(FileLinesContextFactory fileLinesContextFactory, CheckFactory checkFactory, NoSonarFilter noSonarFilter,
+                      AnalysisWarningsWrapper analysisWarnings) {
+    this(fileLinesContextFactory, checkFactory, noSonarFilter, null, analysisWarnings);
+  }
+
+  public PythonSensor(FileLinesContextFactory fileLinesContextFactory, CheckFactory checkFactory, NoSonarFilter noSonarFilter,
+                      @Nullable PythonCustomRuleRepository[] customRuleRepositories, @Nullable AnalysisWarningsWrapper analysisWarnings) {
     this.checks = new PythonChecks(checkFactory)
       .addChecks(CheckList.REPOSITORY_KEY, CheckList.getChecks())
       .addCustomChecks(customRuleRepositories);
     this.fileLinesContextFactory = fileLinesContextFactory;
     this.noSonarFilter = noSonarFilter;
+    this.analysisWarnings = analysisWarnings;
   }
 
   @Override
@@ -80,7 +93,7 @@ public final class PythonSensor implements Sensor {
   public void execute(SensorContext context) {
     List<InputFile> mainFiles = getInputFiles(Type.MAIN, context);
     List<InputFile> testFiles = getInputFiles(Type.TEST, context);
-    PythonScanner scanner = new PythonScanner(context, checks, fileLinesContextFactory, noSonarFilter, mainFiles);
+    PythonScanner scanner = new PythonScanner(context, checks, fileLinesContextFactory, noSonarFilter, mainFiles, analysisWarnings);
     scanner.execute(mainFiles, context);
     if (!testFiles.isEmpty()) {
       new TestHighlightingScanner(context).execute(testFiles, context);
@@ -95,10 +108,10 @@ public final class PythonSensor implements Sensor {
     return Collections.unmodifiableList(list);
   }
 
-  private static class TestHighlightingScanner extends Scanner {
+  private static class TestHighlightingScanner extends Scanner<String> {
 
     private static final Logger LOG = Loggers.get(TestHighlightingScanner.class);
-    private final PythonParser parser = PythonParser.create();
+    private final PythonTokenizer tokenizer = new PythonTokenizer();
 
     TestHighlightingScanner(SensorContext context) {
       super(context);
@@ -110,18 +123,15 @@ public final class PythonSensor implements Sensor {
     }
 
     @Override
-    protected void scanFile(InputFile inputFile) throws IOException {
-      try {
-        PythonFile pythonFile = SonarQubePythonFile.create(inputFile);
-        AstNode astNode = parser.parse(pythonFile.content());
-        FileInput parse = new PythonTreeMaker().fileInput(astNode);
-        // omitting package and symbols info as it's not required for highlighting
-        PythonVisitorContext visitorContext = new PythonVisitorContext(parse, pythonFile, context.fileSystem().workDir(), "", ProjectLevelSymbolTable.empty());
-        new PythonHighlighter(context, inputFile).scanFile(visitorContext);
-      } catch (RecognitionException e) {
-        LOG.error("Unable to parse file: " + inputFile.toString());
-        LOG.error(e.getMessage());
-      }
+    protected String prepareFile(InputFile inputFile) throws IOException {
+      return inputFile.contents();
+    }
+
+    @Override
+    protected void scanFile(InputFile inputFile, String content) {
+      // highlighting only relies on tokens: neither syntax tree nor symbols are required
+      List<Token> tokens = tokenizer.tokenize(content);
+      new PythonHighlighter(context, inputFile).scanTokens(tokens, DocstringExtractor.docstringTokens(tokens), new LineIndex(content));
     }
 
     @Override
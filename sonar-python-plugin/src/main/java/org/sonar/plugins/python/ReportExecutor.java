@@ -0,0 +1,81 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.sonar.api.config.Configuration;
+
+/**
+ * Runs the work of report importers: sequentially by default, or on a dedicated pool when the analysis parallelism
+ * ({@link PythonPlugin#ANALYSIS_PARALLELISM_KEY}) is greater than one, rather than on the common pool shared with the
+ * rest of the scanner.
+ */
+public class ReportExecutor implements AutoCloseable {
+
+  @Nullable
+  private final ForkJoinPool pool;
+
+  public ReportExecutor(int parallelism) {
+    this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+  }
+
+  public static ReportExecutor create(Configuration config) {
+    return new ReportExecutor(parallelism(config));
+  }
+
+  public static int parallelism(Configuration config) {
+    return config.getInt(PythonPlugin.ANALYSIS_PARALLELISM_KEY).orElse(1);
+  }
+
+  /**
+   * Applies the function to all items, and returns the results in the order of the items.
+   */
+  public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+    if (pool == null || items.size() <= 1) {
+      return items.stream().map(function).collect(Collectors.toList());
+    }
+    return pool.submit(() -> items.parallelStream().map(function).collect(Collectors.<R>toList())).join();
+  }
+
+  /**
+   * Applies the function to all items, and gives each result to the consumer as soon as it is computed, so that results
+   * do not have to be retained until all items are processed. The consumer is called concurrently when the pool is used.
+   */
+  public <T, R> void forEach(List<T> items, Function<? super T, ? extends R> function, Consumer<? super R> resultConsumer) {
+    if (pool == null || items.size() <= 1) {
+      items.forEach(item -> resultConsumer.accept(function.apply(item)));
+      return;
+    }
+    pool.submit(() -> items.parallelStream().map(function).forEach(resultConsumer)).join();
+  }
+
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+}
@@ -29,9 +29,11 @@ import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonarsource.analyzer.commons.ProgressReport;
 
-abstract class Scanner {
+abstract class Scanner<T> {
   private static final Logger LOG = Loggers.get(Scanner.class);
   private static final String FAIL_FAST_PROPERTY_NAME = "sonar.internal.analysis.failFast";
+  private static final int PIPELINE_THREADS = 2;
+  private static final int PIPELINE_CAPACITY = 4;
   protected final SensorContext context;
 
   Scanner(SensorContext context) {
@@ -43,20 +45,22 @@ abstract class Scanner {
     LOG.info("Starting " + this.name());
     List<String> filenames = files.stream().map(InputFile::toString).collect(Collectors.toList());
     progressReport.start(filenames);
-    for (InputFile file : files) {
-      if (context.isCancelled()) {
-        progressReport.cancel();
-        return;
-      }
-      try {
-        this.scanFile(file);
-      } catch (Exception e) {
-        this.processException(e, file);
-        if (context.config().getBoolean(FAIL_FAST_PROPERTY_NAME).orElse(false)) {
-          throw new IllegalStateException("Exception when analyzing " + file, e);
+    try (FilePipeline<T> pipeline = new FilePipeline<>(files, this::prepareFile, PIPELINE_THREADS, PIPELINE_CAPACITY)) {
+      for (InputFile file : files) {
+        if (context.isCancelled()) {
+          progressReport.cancel();
+          return;
+        }
+        try {
+          this.scanFile(file, pipeline.next());
+        } catch (Exception e) {
+          this.processException(e, file);
+          if (context.config().getBoolean(FAIL_FAST_PROPERTY_NAME).orElse(false)) {
+            throw new IllegalStateException("Exception when analyzing " + file, e);
+          }
+        } finally {
+          progressReport.nextFile();
         }
-      } finally {
-        progressReport.nextFile();
       }
     }
 
@@ -65,7 +69,13 @@ abstract class Scanner {
 
   abstract String name();
 
-  abstract void scanFile(InputFile file) throws IOException;
+  /**
+   * Reads and possibly parses the file ahead of {@link #scanFile(InputFile, Object)}, on one of the threads of the pipeline:
+   * it must neither depend on nor update the state built by the analysis of the previous files.
+   */
+  abstract T prepareFile(InputFile file) throws IOException;
+
+  abstract void scanFile(InputFile file, T preparedFile) throws IOException;
 
   abstract void processException(Exception e, InputFile file);
 }
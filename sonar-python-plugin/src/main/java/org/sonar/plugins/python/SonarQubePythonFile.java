@@ -36,6 +36,13 @@ public abstract class SonarQubePythonFile implements PythonFile {
     return new Sq62File(inputFile);
   }
 
+  /**
+   * File whose content was already read, it is not read again from the file system.
+   */
+  public static PythonFile create(InputFile inputFile, String content) {
+    return new ReadFile(inputFile, content);
+  }
+
   @Override
   public String fileName() {
     return inputFile.filename();
@@ -72,4 +79,20 @@ public abstract class SonarQubePythonFile implements PythonFile {
 
   }
 
+  private static class ReadFile extends SonarQubePythonFile {
+
+    private final String content;
+
+    public ReadFile(InputFile inputFile, String content) {
+      super(inputFile);
+      this.content = content;
+    }
+
+    @Override
+    public String content() {
+      return content;
+    }
+
+  }
+
 }
@@ -19,84 +19,188 @@
  */
 package org.sonar.plugins.python;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Objects;
+import java.util.function.Consumer;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 
 /**
- * Common implementation to parse Flake8 and Pylint reports
+ * Common implementation to parse Flake8 and Pylint reports.
+ * Lines are split by hand rather than with regular expressions, with the same results as the following patterns:
+ * <ul>
+ *   <li>default format: {@code (.+):(\d+):(\d+): (\S+[^:]):? (.*)}</li>
+ *   <li>legacy format: {@code (.+):(\d+): \[(.*)\] (.*)}</li>
+ * </ul>
+ * Reports are read by chunks of lines, which are parsed in parallel when the analysis parallelism is greater than one,
+ * and issues are given to the consumer in the order of the report from the calling thread.
  */
 public class TextReportReader {
 
-  private static final Pattern DEFAULT_PATTERN = Pattern.compile("(.+):(\\d+):(\\d+): (\\S+[^:]):? (.*)");
-  private static final Pattern LEGACY_PATTERN = Pattern.compile("(.+):(\\d+): \\[(.*)\\] (.*)");
   private static final Logger LOG = Loggers.get(TextReportReader.class);
+  private static final int CHUNK_SIZE = 10_000;
   public static final int COLUMN_ZERO_BASED = 0;
   public static final int COLUMN_ONE_BASED = 1;
 
   private final int reportOffset;
+  private final int parallelism;
 
   public TextReportReader(int columnStartIndex) {
+    this(columnStartIndex, 1);
+  }
+
+  public TextReportReader(int columnStartIndex, int parallelism) {
     this.reportOffset = columnStartIndex;
+    this.parallelism = parallelism;
   }
 
-  public List<Issue> parse(File report, FileSystem fileSystem) throws IOException {
-    List<Issue> issues = new ArrayList<>();
-    try (Scanner scanner = new Scanner(report.toPath(), fileSystem.encoding().name())) {
-      while (scanner.hasNextLine()) {
-        Issue issue = parseLine(scanner.nextLine());
-        if (issue != null) {
-          issues.add(issue);
+  public void parse(File report, FileSystem fileSystem, Consumer<Issue> consumer) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(report.toPath()), fileSystem.encoding()));
+      ReportExecutor reportExecutor = new ReportExecutor(parallelism)) {
+      List<String> lines = new ArrayList<>(CHUNK_SIZE);
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+        if (lines.size() == CHUNK_SIZE) {
+          parseChunk(reportExecutor, lines, consumer);
+          lines.clear();
         }
       }
+      parseChunk(reportExecutor, lines, consumer);
     }
-    return issues;
   }
 
+  private void parseChunk(ReportExecutor reportExecutor, List<String> lines, Consumer<Issue> consumer) {
+    reportExecutor.map(lines, this::parseLine).stream()
+      .filter(Objects::nonNull)
+      .forEach(consumer);
+  }
+
+  @CheckForNull
   private Issue parseLine(String line) {
     if (line.length() > 0) {
-      Matcher m = TextReportReader.DEFAULT_PATTERN.matcher(line);
-      if (m.matches()) {
-        return extractDefaultStyleIssue(m);
+      Issue issue = parseDefaultStyleIssue(line);
+      if (issue == null) {
+        issue = parseLegacyStyleIssue(line);
       }
-      m = TextReportReader.LEGACY_PATTERN.matcher(line);
-      if (m.matches()) {
-        return extractLegacyStyleIssue(m);
+      if (issue == null) {
+        LOG.debug("Cannot parse the line: {}", line);
       }
-      LOG.debug("Cannot parse the line: {}", line);
+      return issue;
     }
     return null;
   }
 
-  private Issue extractDefaultStyleIssue(Matcher m) {
-    String filePath = m.group(1);
-    int lineNumber = Integer.parseInt(m.group(2));
-    int columnNumber = Integer.parseInt(m.group(3));
-    // Flake8 column numbering starts at 1
-    columnNumber -= this.reportOffset;
-    String ruleKey = m.group(4);
-    String message = m.group(5);
-    return new Issue(filePath, ruleKey, message, lineNumber, columnNumber);
+  /**
+   * {@code path:line:column: ruleKey message}, or {@code path:line:column: ruleKey: message}.
+   * The path is the longest prefix followed by a valid end of line.
+   */
+  @CheckForNull
+  private Issue parseDefaultStyleIssue(String line) {
+    for (int colon = line.lastIndexOf(':'); colon > 0; colon = line.lastIndexOf(':', colon - 1)) {
+      int lineNumberEnd = digitsEnd(line, colon + 1);
+      if (lineNumberEnd < 0 || !hasCharAt(line, lineNumberEnd, ':')) {
+        continue;
+      }
+      int columnNumberEnd = digitsEnd(line, lineNumberEnd + 1);
+      if (columnNumberEnd < 0 || !line.startsWith(": ", columnNumberEnd)) {
+        continue;
+      }
+      int ruleKeyStart = columnNumberEnd + 2;
+      // the rule key is made of non-whitespace characters followed by a character which is not a colon, the longest one is kept
+      int ruleKeyEnd = nonWhitespaceEnd(line, ruleKeyStart) + 1;
+      while (ruleKeyEnd >= ruleKeyStart + 2 && messageStart(line, ruleKeyEnd) < 0) {
+        ruleKeyEnd--;
+      }
+      if (ruleKeyEnd < ruleKeyStart + 2) {
+        continue;
+      }
+      int lineNumber = Integer.parseInt(line.substring(colon + 1, lineNumberEnd));
+      // Flake8 column numbering starts at 1
+      int columnNumber = Integer.parseInt(line.substring(lineNumberEnd + 1, columnNumberEnd)) - this.reportOffset;
+      String ruleKey = line.substring(ruleKeyStart, ruleKeyEnd);
+      return new Issue(line.substring(0, colon), ruleKey, line.substring(messageStart(line, ruleKeyEnd)), lineNumber, columnNumber);
+    }
+    return null;
   }
 
-  private static Issue extractLegacyStyleIssue(Matcher m) {
-    String filePath = m.group(1);
-    int lineNumber = Integer.parseInt(m.group(2));
-    String ruleKey = m.group(3);
-    int keyLastIndex = ruleKey.indexOf("(");
-    if (keyLastIndex > 0) {
-      ruleKey = ruleKey.substring(0, keyLastIndex);
+  /**
+   * Start of the message when the rule key ends before {@code ruleKeyEnd}, or -1.
+   */
+  private static int messageStart(String line, int ruleKeyEnd) {
+    if (ruleKeyEnd > line.length() || line.charAt(ruleKeyEnd - 1) == ':') {
+      return -1;
+    }
+    if (line.startsWith(": ", ruleKeyEnd)) {
+      return ruleKeyEnd + 2;
     }
-    String message = m.group(4);
-    return new Issue(filePath, ruleKey, message, lineNumber, null);
+    if (hasCharAt(line, ruleKeyEnd, ' ')) {
+      return ruleKeyEnd + 1;
+    }
+    return -1;
+  }
+
+  /**
+   * {@code path:line: [ruleKey(name)] message}
+   */
+  @CheckForNull
+  private static Issue parseLegacyStyleIssue(String line) {
+    for (int colon = line.lastIndexOf(':'); colon > 0; colon = line.lastIndexOf(':', colon - 1)) {
+      int lineNumberEnd = digitsEnd(line, colon + 1);
+      if (lineNumberEnd < 0 || !line.startsWith(": [", lineNumberEnd)) {
+        continue;
+      }
+      int ruleKeyStart = lineNumberEnd + 3;
+      int ruleKeyEnd = line.lastIndexOf("] ");
+      if (ruleKeyEnd < ruleKeyStart) {
+        continue;
+      }
+      int lineNumber = Integer.parseInt(line.substring(colon + 1, lineNumberEnd));
+      String ruleKey = line.substring(ruleKeyStart, ruleKeyEnd);
+      int keyLastIndex = ruleKey.indexOf("(");
+      if (keyLastIndex > 0) {
+        ruleKey = ruleKey.substring(0, keyLastIndex);
+      }
+      return new Issue(line.substring(0, colon), ruleKey, line.substring(ruleKeyEnd + 2), lineNumber, null);
+    }
+    return null;
+  }
+
+  /**
+   * End of the non-empty sequence of ASCII digits starting at {@code start}, or -1.
+   */
+  private static int digitsEnd(String line, int start) {
+    int end = start;
+    while (end < line.length() && line.charAt(end) >= '0' && line.charAt(end) <= '9') {
+      end++;
+    }
+    return end > start ? end : -1;
+  }
+
+  private static int nonWhitespaceEnd(String line, int start) {
+    int end = start;
+    while (end < line.length() && !isWhitespace(line.charAt(end))) {
+      end++;
+    }
+    return end;
+  }
+
+  private static boolean isWhitespace(char c) {
+    // characters matched by \s in regular expressions
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  private static boolean hasCharAt(String line, int index, char c) {
+    return index < line.length() && line.charAt(index) == c;
   }
 
   public static class Issue {
@@ -111,12 +215,25 @@ public class TextReportReader {
 
     public final Integer columnNumber;
 
+    @Nullable
+    public final Integer endLineNumber;
+
+    @Nullable
+    public final Integer endColumnNumber;
+
     public Issue(String filePath, String ruleKey, String message, Integer lineNumber, @Nullable Integer columnNumber) {
+      this(filePath, ruleKey, message, lineNumber, columnNumber, null, null);
+    }
+
+    public Issue(String filePath, String ruleKey, String message, Integer lineNumber, @Nullable Integer columnNumber,
+      @Nullable Integer endLineNumber, @Nullable Integer endColumnNumber) {
       this.filePath = filePath;
       this.ruleKey = ruleKey;
       this.message = message;
       this.lineNumber = lineNumber;
       this.columnNumber = columnNumber;
+      this.endLineNumber = endLineNumber;
+      this.endColumnNumber = endColumnNumber;
     }
   }
 }
@@ -19,23 +19,29 @@
  */
 package org.sonar.plugins.python.bandit;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 import javax.annotation.Nullable;
-import org.sonarsource.analyzer.commons.internal.json.simple.JSONArray;
-import org.sonarsource.analyzer.commons.internal.json.simple.JSONObject;
+import org.sonarsource.analyzer.commons.internal.json.simple.parser.ContentHandler;
 import org.sonarsource.analyzer.commons.internal.json.simple.parser.JSONParser;
 import org.sonarsource.analyzer.commons.internal.json.simple.parser.ParseException;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+/**
+ * Reads the "results" of a Bandit JSON report with the event based API of the JSON parser, so that the report is never
+ * loaded in memory: each issue is given to the consumer as soon as its object is closed. A first pass only checks that
+ * the report can be parsed, so that nothing is imported from a report which can't be parsed.
+ */
 public class BanditJsonReportReader {
 
-  private final JSONParser jsonParser = new JSONParser();
-  private final Consumer<Issue> consumer;
+  // depth of the objects describing issues: root object, "results" array, issue object
+  private static final int RESULT_DEPTH = 3;
 
   public static class Issue {
     @Nullable
@@ -52,34 +58,131 @@ public class BanditJsonReportReader {
     String confidence;
   }
 
-  private BanditJsonReportReader(Consumer<Issue> consumer) {
-    this.consumer = consumer;
+  private BanditJsonReportReader() {
   }
 
-  static void read(InputStream in, Consumer<Issue> consumer) throws IOException, ParseException {
-    new BanditJsonReportReader(consumer).read(in);
+  static void read(File report, Consumer<Issue> consumer) throws IOException, ParseException {
+    parse(report, issue -> {
+      // the first pass only validates the report
+    });
+    parse(report, consumer);
   }
 
-  private void read(InputStream in) throws IOException, ParseException {
-    JSONObject rootObject = (JSONObject) jsonParser.parse(new InputStreamReader(in, UTF_8));
-    JSONArray files = (JSONArray) rootObject.get("results");
-    if (files != null) {
-      ((Stream<JSONObject>) files.stream()).forEach(this::onResult);
+  private static void parse(File report, Consumer<Issue> consumer) throws IOException, ParseException {
+    try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(report), UTF_8))) {
+      new JSONParser().parse(reader, new ResultsHandler(consumer));
     }
   }
 
-  private void onResult(JSONObject result) {
-    Issue issue = new Issue();
-    issue.ruleKey = (String) result.get("test_id");
-    issue.filePath = (String) result.get("filename");
-    issue.message = (String) result.get("issue_text");
-    issue.lineNumber = toInteger(result.get("line_number"));
-    issue.severity = (String) result.get("issue_severity");
-    issue.confidence = (String) result.get("issue_confidence");
-    consumer.accept(issue);
+  private static class ResultsHandler implements ContentHandler {
+
+    private final Consumer<Issue> consumer;
+    private int depth = 0;
+    private boolean inResults = false;
+    @Nullable
+    private String key;
+    @Nullable
+    private Issue issue;
+
+    private ResultsHandler(Consumer<Issue> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void startJSON() {
+      // nothing to do
+    }
+
+    @Override
+    public void endJSON() {
+      // nothing to do
+    }
+
+    @Override
+    public boolean startObject() {
+      depth++;
+      if (inResults && depth == RESULT_DEPTH) {
+        issue = new Issue();
+      }
+      return true;
+    }
+
+    @Override
+    public boolean endObject() {
+      if (issue != null && depth == RESULT_DEPTH) {
+        consumer.accept(issue);
+        issue = null;
+      }
+      depth--;
+      return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+      this.key = key;
+      return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+      key = null;
+      return true;
+    }
+
+    @Override
+    public boolean startArray() {
+      depth++;
+      if (depth == RESULT_DEPTH - 1 && "results".equals(key)) {
+        inResults = true;
+      }
+      key = null;
+      return true;
+    }
+
+    @Override
+    public boolean endArray() {
+      if (depth == RESULT_DEPTH - 1) {
+        inResults = false;
+      }
+      depth--;
+      return true;
+    }
+
+    @Override
+    public boolean primitive(@Nullable Object value) {
+      if (issue != null && depth == RESULT_DEPTH && key != null) {
+        onResultEntry(issue, key, value);
+      }
+      return true;
+    }
+  }
+
+  private static void onResultEntry(Issue issue, String key, @Nullable Object value) {
+    switch (key) {
+      case "test_id":
+        issue.ruleKey = (String) value;
+        break;
+      case "filename":
+        issue.filePath = (String) value;
+        break;
+      case "issue_text":
+        issue.message = (String) value;
+        break;
+      case "line_number":
+        issue.lineNumber = toInteger(value);
+        break;
+      case "issue_severity":
+        issue.severity = (String) value;
+        break;
+      case "issue_confidence":
+        issue.confidence = (String) value;
+        break;
+      default:
+        break;
+    }
   }
 
-  private static Integer toInteger(Object value) {
+  private static Integer toInteger(@Nullable Object value) {
     if (value instanceof Number) {
       return ((Number) value).intValue();
     }
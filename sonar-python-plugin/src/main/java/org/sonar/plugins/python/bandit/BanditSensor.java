@@ -20,10 +20,7 @@
 package org.sonar.plugins.python.bandit;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Set;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.rule.Severity;
 import org.sonar.api.batch.sensor.SensorContext;
@@ -35,6 +32,7 @@ import org.sonar.api.rules.RuleType;
 import org.sonar.api.utils.Version;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.python.ExternalIssueFiles;
 import org.sonar.plugins.python.ExternalIssuesSensor;
 import org.sonar.plugins.python.bandit.BanditJsonReportReader.Issue;
 import org.sonarsource.analyzer.commons.internal.json.simple.parser.ParseException;
@@ -52,22 +50,20 @@ public class BanditSensor extends ExternalIssuesSensor {
   private static final Long DEFAULT_CONSTANT_DEBT_MINUTES = 5L;
 
   @Override
-  protected void importReport(File reportPath, SensorContext context, Set<String> unresolvedInputFiles) throws IOException, ParseException {
-    InputStream in = new FileInputStream(reportPath);
+  protected void importReport(File reportPath, SensorContext context, ExternalIssueFiles externalIssueFiles) throws IOException, ParseException {
     LOG.info("Importing {}", reportPath);
-    BanditJsonReportReader.read(in, issue -> saveIssue(context, issue, unresolvedInputFiles));
+    BanditJsonReportReader.read(reportPath, issue -> saveIssue(context, issue, externalIssueFiles));
   }
 
 
-  private static void saveIssue(SensorContext context, Issue issue, Set<String> unresolvedInputFiles) {
+  private static void saveIssue(SensorContext context, Issue issue, ExternalIssueFiles externalIssueFiles) {
     if (isEmpty(issue.ruleKey) || isEmpty(issue.filePath) || isEmpty(issue.message)) {
       LOG.debug("Missing information for ruleKey:'{}', filePath:'{}', message:'{}'", issue.ruleKey, issue.filePath, issue.message);
       return;
     }
 
-    InputFile inputFile = context.fileSystem().inputFile(context.fileSystem().predicates().hasPath(issue.filePath));
+    InputFile inputFile = externalIssueFiles.inputFile(issue.filePath);
     if (inputFile == null) {
-      unresolvedInputFiles.add(issue.filePath);
       return;
     }
 
@@ -82,7 +78,7 @@ public class BanditSensor extends ExternalIssuesSensor {
       .on(inputFile);
 
     if (issue.lineNumber != null) {
-      primaryLocation.at(inputFile.selectLine(issue.lineNumber));
+      primaryLocation.at(externalIssueFiles.selectLine(inputFile, issue.lineNumber));
     }
 
     newExternalIssue.at(primaryLocation);
@@ -0,0 +1,117 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.coverage;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.utils.PathUtils;
+import org.sonar.plugins.python.Python;
+
+/**
+ * Resolves the file names of coverage reports to input files. Resolutions are cached for the whole analysis, as the same
+ * file names are found in every report of a project, and Python files of the file system are indexed by absolute path to
+ * avoid checking the existence of most files on disk.
+ * Instances are thread-safe, so that they can be shared between reports parsed concurrently.
+ */
+class CoverageFileResolver {
+
+  private static final String NOT_FOUND_MESSAGE = "Cannot resolve the file path '{}' of the coverage report, the file does not exist in all <source>.";
+  private static final String AMBIGUOUS_MESSAGE = "Cannot resolve the file path '{}' of the coverage report, ambiguity, the file exists in several <source>.";
+
+  private final FileSystem fileSystem;
+  private final Map<String, InputFile> pythonFilesByAbsolutePath;
+  private final Map<List<File>, Map<String, Resolution>> resolutionsByBaseDirectories = new ConcurrentHashMap<>();
+
+  CoverageFileResolver(FileSystem fileSystem) {
+    this.fileSystem = fileSystem;
+    Iterable<InputFile> pythonFiles = fileSystem.inputFiles(fileSystem.predicates().hasLanguage(Python.KEY));
+    this.pythonFilesByAbsolutePath = StreamSupport.stream(pythonFiles.spliterator(), false)
+      .collect(Collectors.toMap(inputFile -> PathUtils.sanitize(inputFile.file().getAbsolutePath()), inputFile -> inputFile, (first, second) -> first));
+  }
+
+  Resolution resolve(List<File> baseDirectories, String filename) {
+    return resolutionsByBaseDirectories.computeIfAbsent(baseDirectories, directories -> new ConcurrentHashMap<>())
+      .computeIfAbsent(filename, name -> computeResolution(baseDirectories, name));
+  }
+
+  private Resolution computeResolution(List<File> baseDirectories, String filename) {
+    File file = new File(filename);
+    if (file.isAbsolute()) {
+      String absolutePath = file.getAbsolutePath();
+      InputFile inputFile = inputFile(absolutePath);
+      if (inputFile == null && !file.exists()) {
+        return new Resolution(null, NOT_FOUND_MESSAGE);
+      }
+      return new Resolution(inputFile, null);
+    }
+    List<File> fileList = baseDirectories.stream()
+      .map(base -> new File(base, filename))
+      .filter(candidate -> pythonFilesByAbsolutePath.containsKey(PathUtils.sanitize(candidate.getAbsolutePath())) || candidate.exists())
+      .collect(Collectors.toList());
+    if (fileList.isEmpty()) {
+      return new Resolution(null, NOT_FOUND_MESSAGE);
+    }
+    if (fileList.size() > 1) {
+      return new Resolution(null, AMBIGUOUS_MESSAGE);
+    }
+    return new Resolution(inputFile(fileList.get(0).getAbsolutePath()), null);
+  }
+
+  @Nullable
+  private InputFile inputFile(String absolutePath) {
+    InputFile inputFile = pythonFilesByAbsolutePath.get(PathUtils.sanitize(absolutePath));
+    if (inputFile != null) {
+      return inputFile;
+    }
+    return fileSystem.inputFile(fileSystem.predicates().hasAbsolutePath(absolutePath));
+  }
+
+  static class Resolution {
+    @Nullable
+    private final InputFile inputFile;
+    @Nullable
+    private final String unresolvedMessage;
+
+    private Resolution(@Nullable InputFile inputFile, @Nullable String unresolvedMessage) {
+      this.inputFile = inputFile;
+      this.unresolvedMessage = unresolvedMessage;
+    }
+
+    @Nullable
+    InputFile inputFile() {
+      return inputFile;
+    }
+
+    /**
+     * Message to log when the file name cannot be resolved, with the file name as parameter.
+     */
+    @Nullable
+    String unresolvedMessage() {
+      return unresolvedMessage;
+    }
+  }
+}
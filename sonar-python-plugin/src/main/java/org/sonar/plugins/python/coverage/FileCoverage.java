@@ -0,0 +1,103 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.coverage;
+
+import java.util.Arrays;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.sensor.coverage.NewCoverage;
+
+/**
+ * Coverage of a file, stored in arrays indexed by line so that the coverage of many reports can be merged before saving
+ * it once per file.
+ * Within a report, the first measures of a line are kept. Measures of several reports are merged by summing the hits of
+ * each line and keeping the highest number of conditions and covered conditions.
+ */
+class FileCoverage {
+
+  private static final int NO_HITS = -1;
+
+  private final InputFile inputFile;
+  // indexed by line number, index 0 is unused
+  private final int[] hits;
+  private final int[] conditions;
+  private final int[] coveredConditions;
+
+  FileCoverage(InputFile inputFile) {
+    this.inputFile = inputFile;
+    int length = inputFile.lines() + 1;
+    hits = new int[length];
+    Arrays.fill(hits, NO_HITS);
+    conditions = new int[length];
+    coveredConditions = new int[length];
+  }
+
+  void lineHits(int line, int lineHits) {
+    validateLine(line);
+    if (hits[line] == NO_HITS) {
+      hits[line] = lineHits;
+    }
+  }
+
+  void conditions(int line, int lineConditions, int lineCoveredConditions) {
+    validateLine(line);
+    if (lineConditions > 0 && conditions[line] == 0) {
+      conditions[line] = lineConditions;
+      coveredConditions[line] = lineCoveredConditions;
+    }
+  }
+
+  /**
+   * Merges the coverage of another report on the same file into this one, and returns this coverage.
+   */
+  FileCoverage merge(FileCoverage other) {
+    for (int line = 1; line < hits.length; line++) {
+      if (other.hits[line] != NO_HITS) {
+        hits[line] = hits[line] == NO_HITS ? other.hits[line] : (hits[line] + other.hits[line]);
+      }
+      conditions[line] = Math.max(conditions[line], other.conditions[line]);
+      coveredConditions[line] = Math.max(coveredConditions[line], other.coveredConditions[line]);
+    }
+    return this;
+  }
+
+  void save(NewCoverage coverage) {
+    for (int line = 1; line < hits.length; line++) {
+      if (hits[line] != NO_HITS) {
+        coverage.lineHits(line, hits[line]);
+      }
+      if (conditions[line] > 0) {
+        coverage.conditions(line, conditions[line], coveredConditions[line]);
+      }
+    }
+    coverage.save();
+  }
+
+  /**
+   * Same validation as {@link NewCoverage#lineHits}, done while the report is read.
+   */
+  private void validateLine(int line) {
+    if (line >= hits.length) {
+      throw new IllegalStateException(String.format("Line %s is out of range in the file %s (lines: %s)", line, inputFile, inputFile.lines()));
+    }
+    if (line <= 0) {
+      throw new IllegalStateException(String.format("Line number must be strictly positive: %s", line));
+    }
+  }
+}
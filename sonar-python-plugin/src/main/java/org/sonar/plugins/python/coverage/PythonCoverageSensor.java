@@ -22,23 +22,22 @@ package org.sonar.plugins.python.coverage;
 import java.io.File;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.xml.stream.XMLStreamException;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.Sensor;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.SensorDescriptor;
-import org.sonar.api.batch.sensor.coverage.NewCoverage;
 import org.sonar.api.config.Configuration;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.python.DirectoryListingCache;
 import org.sonar.plugins.python.EmptyReportException;
 import org.sonar.plugins.python.Python;
+import org.sonar.plugins.python.ReportExecutor;
 import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
 
 import static org.sonar.plugins.python.PythonReportSensor.getReports;
@@ -54,9 +53,15 @@ public class PythonCoverageSensor implements Sensor {
   public static final String REPORT_PATH_KEY = "sonar.python.coverage.reportPath";
 
   private final AnalysisWarningsWrapper analysisWarnings;
+  private final DirectoryListingCache directoryListingCache;
 
   public PythonCoverageSensor(AnalysisWarningsWrapper analysisWarnings) {
+    this(analysisWarnings, new DirectoryListingCache());
+  }
+
+  public PythonCoverageSensor(AnalysisWarningsWrapper analysisWarnings, DirectoryListingCache directoryListingCache) {
     this.analysisWarnings = analysisWarnings;
+    this.directoryListingCache = directoryListingCache;
   }
 
   @Override
@@ -73,24 +78,28 @@ public class PythonCoverageSensor implements Sensor {
 
     warnDeprecatedPropertyUsage(config);
 
-    HashSet<InputFile> filesCovered = new HashSet<>();
-    List<File> reports = getCoverageReports(baseDir, config);
+    List<File> reports = getCoverageReports(baseDir, config, directoryListingCache);
     if (!reports.isEmpty()) {
       LOG.info("Python test coverage");
-      for (File report : uniqueAbsolutePaths(reports)) {
-        Map<InputFile, NewCoverage> coverageMeasures = parseReport(report, context);
-        saveMeasures(coverageMeasures, filesCovered);
+      CoverageFileResolver fileResolver = new CoverageFileResolver(context.fileSystem());
+      // reports are parsed concurrently when the analysis parallelism allows it, the coverage of each report is merged as
+      // soon as it is parsed, and the merged coverage of each file is saved once from the sensor thread
+      Map<InputFile, FileCoverage> mergedCoverage = new ConcurrentHashMap<>();
+      try (ReportExecutor reportExecutor = ReportExecutor.create(config)) {
+        reportExecutor.forEach(uniqueAbsolutePaths(reports), report -> parseReport(report, context, fileResolver),
+          coverageMeasures -> coverageMeasures.forEach((inputFile, coverage) -> mergedCoverage.merge(inputFile, coverage, FileCoverage::merge)));
       }
+      saveMeasures(context, mergedCoverage);
     }
   }
 
-  private static List<File> getCoverageReports(String baseDir, Configuration config) {
+  private static List<File> getCoverageReports(String baseDir, Configuration config, DirectoryListingCache directoryListingCache) {
     if (!config.hasKey(REPORT_PATHS_KEY)) {
-      return getReports(config, baseDir, REPORT_PATHS_KEY, DEFAULT_REPORT_PATH);
+      return getReports(config, baseDir, REPORT_PATHS_KEY, DEFAULT_REPORT_PATH, directoryListingCache);
     }
 
     return Arrays.stream(config.getStringArray(REPORT_PATHS_KEY))
-      .flatMap(path -> getReports(config, baseDir, REPORT_PATHS_KEY, path).stream())
+      .flatMap(path -> getReports(config, baseDir, REPORT_PATHS_KEY, path, directoryListingCache).stream())
       .collect(Collectors.toList());
   }
 
@@ -102,16 +111,17 @@ public class PythonCoverageSensor implements Sensor {
     }
   }
 
-  private static Set<File> uniqueAbsolutePaths(List<File> reports) {
+  private static List<File> uniqueAbsolutePaths(List<File> reports) {
     return reports.stream()
       .map(File::getAbsoluteFile)
-      .collect(Collectors.toCollection(LinkedHashSet::new));
+      .distinct()
+      .collect(Collectors.toList());
   }
 
-  private static Map<InputFile, NewCoverage> parseReport(File report, SensorContext context) {
-    Map<InputFile, NewCoverage> coverageMeasures = new HashMap<>();
+  private static Map<InputFile, FileCoverage> parseReport(File report, SensorContext context, CoverageFileResolver fileResolver) {
+    Map<InputFile, FileCoverage> coverageMeasures = new HashMap<>();
     try {
-      CoberturaParser parser = new CoberturaParser();
+      CoberturaParser parser = new CoberturaParser(fileResolver);
       parser.parseReport(report, context, coverageMeasures);
     } catch (EmptyReportException e) {
       LOG.warn("The report '{}' seems to be empty, ignoring. '{}'", report, e);
@@ -121,15 +131,13 @@ public class PythonCoverageSensor implements Sensor {
     return coverageMeasures;
   }
 
-  private static void saveMeasures(Map<InputFile, NewCoverage> coverageMeasures, HashSet<InputFile> coveredFiles) {
-    for (Map.Entry<InputFile, NewCoverage> entry : coverageMeasures.entrySet()) {
+  private static void saveMeasures(SensorContext context, Map<InputFile, FileCoverage> coverageMeasures) {
+    for (Map.Entry<InputFile, FileCoverage> entry : coverageMeasures.entrySet()) {
       InputFile inputFile = entry.getKey();
-      coveredFiles.add(inputFile);
       if (LOG.isDebugEnabled()) {
         LOG.debug("Saving coverage measures for file '{}'", inputFile.toString());
       }
-      entry.getValue()
-        .save();
+      entry.getValue().save(context.newCoverage().onFile(inputFile));
     }
   }
 }
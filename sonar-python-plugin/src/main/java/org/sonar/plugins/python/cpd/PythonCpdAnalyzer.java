@@ -26,6 +26,7 @@ import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.cpd.NewCpdTokens;
 import org.sonar.plugins.python.api.PythonVisitorContext;
+import org.sonar.python.LineIndex;
 import org.sonar.python.TokenLocation;
 import org.sonar.python.api.PythonTokenType;
 import org.sonar.plugins.python.api.tree.Token;
@@ -43,22 +44,25 @@ public class PythonCpdAnalyzer {
   public void pushCpdTokens(InputFile inputFile, PythonVisitorContext visitorContext) {
     Tree root = visitorContext.rootTree();
     if (root != null) {
-      NewCpdTokens cpdTokens = context.newCpdTokens().onFile(inputFile);
-      List<Token> tokens = TreeUtils.tokens(root);
-      for (int i = 0; i < tokens.size(); i++) {
-        Token token = tokens.get(i);
-        TokenType currentTokenType = token.type();
-        TokenType nextTokenType = i + 1 < tokens.size() ? tokens.get(i + 1).type() : GenericTokenType.EOF;
-        // INDENT/DEDENT could not be completely ignored during CPD see https://docs.python.org/3/reference/lexical_analysis.html#indentation
-        // Just taking into account DEDENT is enough, but because the DEDENT token has an empty value, it's the
-        // preceding new line which is added in its place to create a difference
-        if (isNewLineWithIndentationChange(currentTokenType, nextTokenType) || !isIgnoredType(currentTokenType)) {
-          TokenLocation location = new TokenLocation(token);
-          cpdTokens.addToken(location.startLine(), location.startLineOffset(), location.endLine(), location.endLineOffset(), token.value());
-        }
+      pushCpdTokens(inputFile, TreeUtils.tokens(root), visitorContext.lineIndex());
+    }
+  }
+
+  public void pushCpdTokens(InputFile inputFile, List<Token> tokens, LineIndex lineIndex) {
+    NewCpdTokens cpdTokens = context.newCpdTokens().onFile(inputFile);
+    for (int i = 0; i < tokens.size(); i++) {
+      Token token = tokens.get(i);
+      TokenType currentTokenType = token.type();
+      TokenType nextTokenType = i + 1 < tokens.size() ? tokens.get(i + 1).type() : GenericTokenType.EOF;
+      // INDENT/DEDENT could not be completely ignored during CPD see https://docs.python.org/3/reference/lexical_analysis.html#indentation
+      // Just taking into account DEDENT is enough, but because the DEDENT token has an empty value, it's the
+      // preceding new line which is added in its place to create a difference
+      if (isNewLineWithIndentationChange(currentTokenType, nextTokenType) || !isIgnoredType(currentTokenType)) {
+        TokenLocation location = new TokenLocation(token, lineIndex);
+        cpdTokens.addToken(location.startLine(), location.startLineOffset(), location.endLine(), location.endLineOffset(), token.value());
       }
-      cpdTokens.save();
     }
+    cpdTokens.save();
   }
 
   private static boolean isNewLineWithIndentationChange(TokenType currentTokenType, TokenType nextTokenType) {
@@ -21,15 +21,14 @@ package org.sonar.plugins.python.flake8;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
-import java.util.Set;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.config.Configuration;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.python.ExternalIssueFiles;
 import org.sonar.plugins.python.ExternalIssuesSensor;
+import org.sonar.plugins.python.ReportExecutor;
 import org.sonar.plugins.python.TextReportReader;
-import org.sonar.plugins.python.TextReportReader.Issue;
 
 public class Flake8Sensor extends ExternalIssuesSensor {
 
@@ -40,9 +39,8 @@ public class Flake8Sensor extends ExternalIssuesSensor {
   public static final String REPORT_PATH_KEY = "sonar.python.flake8.reportPaths";
 
   @Override
-  protected void importReport(File reportPath, SensorContext context, Set<String> unresolvedInputFiles) throws IOException {
-    List<Issue> issues = new TextReportReader(TextReportReader.COLUMN_ONE_BASED).parse(reportPath, context.fileSystem());
-    issues.forEach(i -> saveIssue(context, i, unresolvedInputFiles, LINTER_KEY));
+  protected void importReport(File reportPath, SensorContext context, ExternalIssueFiles externalIssueFiles) throws IOException {
+    new TextReportReader(TextReportReader.COLUMN_ONE_BASED, ReportExecutor.parallelism(context.config())).parse(reportPath, context.fileSystem(), i -> saveIssue(context, i, externalIssueFiles, LINTER_KEY));
   }
 
   @Override
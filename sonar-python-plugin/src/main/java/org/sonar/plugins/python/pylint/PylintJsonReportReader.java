@@ -0,0 +1,233 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.pylint;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.function.Consumer;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.python.TextReportReader.Issue;
+import org.sonarsource.analyzer.commons.internal.json.simple.parser.ContentHandler;
+import org.sonarsource.analyzer.commons.internal.json.simple.parser.JSONParser;
+import org.sonarsource.analyzer.commons.internal.json.simple.parser.ParseException;
+
+import static org.apache.commons.lang.StringUtils.isEmpty;
+
+/**
+ * Reads reports produced by {@code pylint --output-format=json}: an array of messages, read with the event based API of the
+ * JSON parser so that the report is never loaded in memory: each issue is given to the consumer as soon as its message
+ * object is closed. A first pass only checks that the report can be parsed, so that nothing is imported from a report
+ * which can't be parsed.
+ * Messages keep the "message (symbol)" form of the default text format, so that issues do not change with the format
+ * of the report.
+ */
+public class PylintJsonReportReader {
+
+  private static final Logger LOG = Loggers.get(PylintJsonReportReader.class);
+
+  // depth of the objects describing messages: root array, message object
+  private static final int MESSAGE_DEPTH = 2;
+
+  private static class Message {
+    @Nullable
+    String path;
+    @Nullable
+    String messageId;
+    @Nullable
+    String symbol;
+    @Nullable
+    String text;
+    @Nullable
+    Integer line;
+    @Nullable
+    Integer column;
+    @Nullable
+    Integer endLine;
+    @Nullable
+    Integer endColumn;
+  }
+
+  private PylintJsonReportReader() {
+  }
+
+  static void read(File report, Charset charset, Consumer<Issue> consumer) throws IOException, ParseException {
+    parse(report, charset, message -> {
+      // the first pass only validates the report
+    });
+    parse(report, charset, message -> {
+      Issue issue = toIssue(message);
+      if (issue != null) {
+        consumer.accept(issue);
+      }
+    });
+  }
+
+  private static void parse(File report, Charset charset, Consumer<Message> consumer) throws IOException, ParseException {
+    try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(report), charset))) {
+      new JSONParser().parse(reader, new MessagesHandler(consumer));
+    }
+  }
+
+  /**
+   * JSON reports are arrays, while text reports start with a module header or a file path.
+   */
+  static boolean isJsonReport(InputStream in, Charset charset) throws IOException {
+    Reader reader = new InputStreamReader(in, charset);
+    int c = reader.read();
+    while (c == '\uFEFF' || Character.isWhitespace(c)) {
+      c = reader.read();
+    }
+    return c == '[';
+  }
+
+  private static class MessagesHandler implements ContentHandler {
+
+    private final Consumer<Message> consumer;
+    private int depth = 0;
+    @Nullable
+    private String key;
+    @Nullable
+    private Message message;
+
+    private MessagesHandler(Consumer<Message> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void startJSON() {
+      // nothing to do
+    }
+
+    @Override
+    public void endJSON() {
+      // nothing to do
+    }
+
+    @Override
+    public boolean startObject() {
+      depth++;
+      if (depth == MESSAGE_DEPTH) {
+        message = new Message();
+      }
+      return true;
+    }
+
+    @Override
+    public boolean endObject() {
+      if (message != null && depth == MESSAGE_DEPTH) {
+        consumer.accept(message);
+        message = null;
+      }
+      depth--;
+      return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+      this.key = key;
+      return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+      key = null;
+      return true;
+    }
+
+    @Override
+    public boolean startArray() {
+      depth++;
+      return true;
+    }
+
+    @Override
+    public boolean endArray() {
+      depth--;
+      return true;
+    }
+
+    @Override
+    public boolean primitive(@Nullable Object value) {
+      if (message != null && depth == MESSAGE_DEPTH && key != null) {
+        onMessageEntry(message, key, value);
+      }
+      return true;
+    }
+  }
+
+  private static void onMessageEntry(Message message, String key, @Nullable Object value) {
+    switch (key) {
+      case "path":
+        message.path = (String) value;
+        break;
+      case "message-id":
+        message.messageId = (String) value;
+        break;
+      case "symbol":
+        message.symbol = (String) value;
+        break;
+      case "message":
+        message.text = (String) value;
+        break;
+      case "line":
+        message.line = toInteger(value);
+        break;
+      case "column":
+        message.column = toInteger(value);
+        break;
+      case "endLine":
+        message.endLine = toInteger(value);
+        break;
+      case "endColumn":
+        message.endColumn = toInteger(value);
+        break;
+      default:
+        break;
+    }
+  }
+
+  @CheckForNull
+  private static Issue toIssue(Message message) {
+    if (isEmpty(message.path) || isEmpty(message.messageId) || isEmpty(message.text) || message.line == null) {
+      LOG.debug("Missing information for message-id:'{}', path:'{}', message:'{}', line:'{}'", message.messageId, message.path, message.text, message.line);
+      return null;
+    }
+    String text = isEmpty(message.symbol) ? message.text : (message.text + " (" + message.symbol + ")");
+    return new Issue(message.path, message.messageId, text, message.line, message.column, message.endLine, message.endColumn);
+  }
+
+  @Nullable
+  private static Integer toInteger(@Nullable Object value) {
+    if (value instanceof Number) {
+      return ((Number) value).intValue();
+    }
+    return null;
+  }
+
+}
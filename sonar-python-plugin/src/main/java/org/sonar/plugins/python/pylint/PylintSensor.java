@@ -20,16 +20,19 @@
 package org.sonar.plugins.python.pylint;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.Set;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.config.Configuration;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.python.ExternalIssueFiles;
 import org.sonar.plugins.python.ExternalIssuesSensor;
+import org.sonar.plugins.python.ReportExecutor;
 import org.sonar.plugins.python.TextReportReader;
-import org.sonar.plugins.python.TextReportReader.Issue;
+import org.sonarsource.analyzer.commons.internal.json.simple.parser.ParseException;
 
 public class PylintSensor extends ExternalIssuesSensor {
 
@@ -40,9 +43,17 @@ public class PylintSensor extends ExternalIssuesSensor {
   public static final String REPORT_PATH_KEY = "sonar.python.pylint.reportPaths";
 
   @Override
-  protected void importReport(File reportPath, SensorContext context, Set<String> unresolvedInputFiles) throws IOException {
-    List<Issue> issues = new TextReportReader(TextReportReader.COLUMN_ZERO_BASED).parse(reportPath, context.fileSystem());
-    issues.forEach(i -> saveIssue(context, i, unresolvedInputFiles, LINTER_KEY));
+  protected void importReport(File reportPath, SensorContext context, ExternalIssueFiles externalIssueFiles) throws IOException, ParseException {
+    Charset charset = context.fileSystem().encoding();
+    boolean isJsonReport;
+    try (InputStream in = new FileInputStream(reportPath)) {
+      isJsonReport = PylintJsonReportReader.isJsonReport(in, charset);
+    }
+    if (isJsonReport) {
+      PylintJsonReportReader.read(reportPath, charset, i -> saveIssue(context, i, externalIssueFiles, LINTER_KEY));
+    } else {
+      new TextReportReader(TextReportReader.COLUMN_ZERO_BASED, ReportExecutor.parallelism(context.config())).parse(reportPath, context.fileSystem(), i -> saveIssue(context, i, externalIssueFiles, LINTER_KEY));
+    }
   }
 
   @Override
@@ -20,13 +20,13 @@
 package org.sonar.plugins.python.xunit;
 
 import java.io.File;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import javax.xml.stream.XMLStreamException;
-import org.apache.commons.lang.StringUtils;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputComponent;
 import org.sonar.api.batch.fs.InputFile;
@@ -36,7 +36,9 @@ import org.sonar.api.config.Configuration;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.python.DirectoryListingCache;
 import org.sonar.plugins.python.PythonReportSensor;
+import org.sonar.plugins.python.ReportExecutor;
 import org.sonar.plugins.python.parser.StaxParser;
 import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
 
@@ -50,7 +52,11 @@ public class PythonXUnitSensor extends PythonReportSensor {
   private final FileSystem fileSystem;
 
   public PythonXUnitSensor(Configuration conf, FileSystem fileSystem, AnalysisWarningsWrapper analysisWarnings) {
-    super(conf, analysisWarnings, "XUnit");
+    this(conf, fileSystem, analysisWarnings, new DirectoryListingCache());
+  }
+
+  public PythonXUnitSensor(Configuration conf, FileSystem fileSystem, AnalysisWarningsWrapper analysisWarnings, DirectoryListingCache directoryListingCache) {
+    super(conf, analysisWarnings, "XUnit", directoryListingCache);
     this.fileSystem = fileSystem;
   }
 
@@ -73,18 +79,13 @@ public class PythonXUnitSensor extends PythonReportSensor {
     }
   }
 
-  private static void simpleMode(final SensorContext context, List<File> reports) throws XMLStreamException {
-    TestSuiteParser parserHandler = new TestSuiteParser();
-    StaxParser parser = new StaxParser(parserHandler);
-    for (File report : reports) {
-      parser.parse(report);
-    }
-
-    TestResult total = new TestResult();
-    parserHandler.getParsedReports().forEach(testSuite -> testSuite.getTestCases().forEach(total::addTestCase));
+  private void simpleMode(final SensorContext context, List<File> reports) throws XMLStreamException {
+    InputComponent module = context.module();
+    ParsedReport<InputComponent> parsedReports = parseReports(reports, (testSuiteKey, testCase) -> module);
+    parsedReports.rethrowFailure();
+    TestResult total = parsedReports.testResults.get(module);
 
-    if (total.getTests() > 0) {
-      InputComponent module = context.module();
+    if (total != null && total.getTests() > 0) {
       saveMeasure(context, module, CoreMetrics.TESTS, total.getExecutedTests());
       saveMeasure(context, module, CoreMetrics.SKIPPED_TESTS, total.getSkipped());
       saveMeasure(context, module, CoreMetrics.TEST_ERRORS, total.getErrors());
@@ -94,20 +95,9 @@ public class PythonXUnitSensor extends PythonReportSensor {
   }
 
   private void detailedMode(final SensorContext context, List<File> reports) throws XMLStreamException {
-    for (File report : reports) {
-      TestSuiteParser parserHandler = new TestSuiteParser();
-      StaxParser parser = new StaxParser(parserHandler);
-      parser.parse(report);
-
-      LOG.info("Processing report '{}'", report);
-
-      processReportDetailed(context, parserHandler.getParsedReports());
-    }
-  }
-
-  private void processReportDetailed(SensorContext context, Collection<TestSuite> parsedReports) {
-    Map<InputFile, TestResult> locatedResources = lookupResources(parsedReports);
-    for (Map.Entry<InputFile, TestResult> entry : locatedResources.entrySet()) {
+    TestFileIndex testFileIndex = new TestFileIndex(fileSystem);
+    ParsedReport<InputFile> parsedReports = parseReports(reports, (testSuiteKey, testCase) -> lookupResource(testFileIndex, testSuiteKey, testCase));
+    for (Map.Entry<InputFile, TestResult> entry : parsedReports.testResults.entrySet()) {
       InputFile inputFile = entry.getKey();
       TestResult fileTestResult = entry.getValue();
       LOG.debug("Saving test execution measures for '{}'", inputFile.toString());
@@ -118,66 +108,78 @@ public class PythonXUnitSensor extends PythonReportSensor {
       saveMeasure(context, inputFile, CoreMetrics.TEST_FAILURES, fileTestResult.getFailures());
       saveMeasure(context, inputFile, CoreMetrics.TEST_EXECUTION_TIME, fileTestResult.getTime());
     }
+    // measures of the reports preceding the one which could not be parsed are kept
+    parsedReports.rethrowFailure();
   }
 
-  @CheckForNull
-  private InputFile findResource(TestCase testCase, String fileKey) {
-    InputFile unitTestFile = null;
-
-    if (testCase.getFile() != null) {
-      unitTestFile = getSonarTestFile(new File(testCase.getFile()));
+  /**
+   * Parses the reports, concurrently when the analysis parallelism is greater than one, and aggregates their test cases on
+   * the fly into one {@link TestResult} per key returned by the locator, test cases for which the locator returns null are
+   * ignored. The results are merged from the calling thread in the order of the reports, up to the first report which could
+   * not be parsed: its failure is kept in the returned report, and neither its results nor those of the following reports
+   * are merged.
+   */
+  private <K> ParsedReport<K> parseReports(List<File> reports, BiFunction<String, TestCase, K> locator) {
+    List<ParsedReport<K>> parsedReports;
+    try (ReportExecutor reportExecutor = ReportExecutor.create(conf)) {
+      parsedReports = reportExecutor.map(reports, report -> parseReport(report, locator));
     }
 
-    if (unitTestFile == null) {
-      String testClassname = testCase.getTestClassname();
-      String key = testClassname != null ? testClassname : fileKey;
-      return findResourceUsingNoseTestsStrategy(key);
+    Map<K, TestResult> testResults = new LinkedHashMap<>();
+    for (ParsedReport<K> parsedReport : parsedReports) {
+      if (parsedReport.failure != null) {
+        return new ParsedReport<>(testResults, parsedReport.failure);
+      }
+      parsedReport.testResults.forEach((key, testResult) -> testResults.merge(key, testResult, TestResult::merge));
     }
-
-    return unitTestFile;
+    return new ParsedReport<>(testResults, null);
   }
 
-  private InputFile findResourceUsingNoseTestsStrategy(String fileKey) {
-    // a) check assuming the key doesnt contain the class name
-    String candidateKey = StringUtils.replace(fileKey, ".", "/") + ".py";
-
-    InputFile unitTestFile = getSonarTestFile(new File(candidateKey));
-
-    if (unitTestFile == null) {
-      // b) check assuming the key *does* contain the class name
-      String candidateKey2 = StringUtils.replace(StringUtils.substringBeforeLast(fileKey, "."), ".", "/") + ".py";
-      if ( !(candidateKey2.equals(candidateKey))) {
-        unitTestFile = getSonarTestFile(new File(candidateKey2));
+  private static <K> ParsedReport<K> parseReport(File report, BiFunction<String, TestCase, K> locator) {
+    LOG.info("Processing report '{}'", report);
+    Map<K, TestResult> testResults = new LinkedHashMap<>();
+    StaxParser parser = new StaxParser(new TestSuiteParser((testSuiteKey, testCase) -> {
+      K key = locator.apply(testSuiteKey, testCase);
+      if (key != null) {
+        testResults.computeIfAbsent(key, k -> new TestResult()).addTestCase(testCase);
       }
+    }));
+    try {
+      parser.parse(report);
+    } catch (XMLStreamException | RuntimeException e) {
+      return new ParsedReport<>(testResults, e);
     }
-
-    return unitTestFile;
+    return new ParsedReport<>(testResults, null);
   }
 
-  private Map<InputFile, TestResult> lookupResources(Collection<TestSuite> testReports) {
-    Map<InputFile, TestResult> testResultsByFile = new HashMap<>();
-
-    for (TestSuite testSuite : testReports) {
-      testSuite.getTestCases().forEach(testCase -> {
-        String testClassname = testCase.getTestClassname();
-        LOG.debug("Trying to find a SonarQube resource for test case '{}'", testClassname);
-        InputFile inputFile = findResource(testCase, testSuite.getKey());
-        if (inputFile != null) {
-          LOG.debug("The resource was found '{}'", inputFile);
-          testResultsByFile.computeIfAbsent(inputFile, k -> new TestResult()).addTestCase(testCase);
-        } else {
-          LOG.warn("The resource for '{}' is not found, drilling down to the details of this test won't be possible", testClassname);
-        }
-      });
+  @CheckForNull
+  private static InputFile lookupResource(TestFileIndex testFileIndex, String testSuiteKey, TestCase testCase) {
+    String testClassname = testCase.getTestClassname();
+    LOG.debug("Trying to find a SonarQube resource for test case '{}'", testClassname);
+    InputFile inputFile = findResource(testFileIndex, testCase, testSuiteKey);
+    if (inputFile != null) {
+      LOG.debug("The resource was found '{}'", inputFile);
+    } else {
+      LOG.warn("The resource for '{}' is not found, drilling down to the details of this test won't be possible", testClassname);
     }
-
-    return testResultsByFile;
+    return inputFile;
   }
 
   @CheckForNull
-  private InputFile getSonarTestFile(File file) {
-    LOG.debug("Using the key '{}' to lookup the resource in SonarQube", file.getPath());
-    return fileSystem.inputFile(fileSystem.predicates().is(file));
+  private static InputFile findResource(TestFileIndex testFileIndex, TestCase testCase, String fileKey) {
+    InputFile unitTestFile = null;
+
+    if (testCase.getFile() != null) {
+      unitTestFile = testFileIndex.fileByPath(testCase.getFile());
+    }
+
+    if (unitTestFile == null) {
+      String testClassname = testCase.getTestClassname();
+      String key = testClassname != null ? testClassname : fileKey;
+      return testFileIndex.fileByClassname(key);
+    }
+
+    return unitTestFile;
   }
 
   private static void saveMeasure(SensorContext context, InputComponent component, Metric<Integer> metric, int value) {
@@ -196,4 +198,23 @@ public class PythonXUnitSensor extends PythonReportSensor {
       .save();
   }
 
+  private static class ParsedReport<K> {
+    private final Map<K, TestResult> testResults;
+    @Nullable
+    private final Exception failure;
+
+    ParsedReport(Map<K, TestResult> testResults, @Nullable Exception failure) {
+      this.testResults = testResults;
+      this.failure = failure;
+    }
+
+    void rethrowFailure() throws XMLStreamException {
+      if (failure instanceof XMLStreamException) {
+        throw (XMLStreamException) failure;
+      } else if (failure != null) {
+        throw (RuntimeException) failure;
+      }
+    }
+  }
+
 }
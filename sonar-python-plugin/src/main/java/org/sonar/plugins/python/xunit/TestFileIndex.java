@@ -0,0 +1,114 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.xunit;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.utils.PathUtils;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * Index of the files of the file system by relative path, absolute path and dotted module name, built once per analysis
+ * to find the files of test cases without querying the file system for each of them.
+ * Lookups are memoized by file path and by test class name, and can be done concurrently.
+ */
+class TestFileIndex {
+
+  private static final Logger LOG = Loggers.get(TestFileIndex.class);
+  private static final String PYTHON_EXTENSION = ".py";
+
+  private final Map<String, InputFile> filesByRelativePath = new HashMap<>();
+  private final Map<String, InputFile> filesByAbsolutePath = new HashMap<>();
+  private final Map<String, InputFile> filesByModuleName = new HashMap<>();
+  private final Map<String, Optional<InputFile>> filesByPath = new ConcurrentHashMap<>();
+  private final Map<String, Optional<InputFile>> filesByClassname = new ConcurrentHashMap<>();
+
+  TestFileIndex(FileSystem fileSystem) {
+    for (InputFile inputFile : fileSystem.inputFiles(fileSystem.predicates().all())) {
+      String relativePath = inputFile.relativePath();
+      filesByRelativePath.putIfAbsent(relativePath, inputFile);
+      filesByAbsolutePath.putIfAbsent(inputFile.absolutePath(), inputFile);
+      String modulePath = StringUtils.removeEnd(relativePath, PYTHON_EXTENSION);
+      // paths with dots would give ambiguous module names, they are looked up by path
+      if (!modulePath.equals(relativePath) && modulePath.indexOf('.') < 0) {
+        filesByModuleName.putIfAbsent(modulePath.replace('/', '.'), inputFile);
+      }
+    }
+  }
+
+  /**
+   * File given by the "file" attribute of a test case, either relative to the base directory or absolute.
+   */
+  @CheckForNull
+  InputFile fileByPath(String path) {
+    return filesByPath.computeIfAbsent(path, p -> Optional.ofNullable(lookupPath(new File(p)))).orElse(null);
+  }
+
+  /**
+   * File of a test class name or of a test suite name, as reported by nose: either the dotted name of the module,
+   * or the dotted name of the module followed by the name of the class.
+   */
+  @CheckForNull
+  InputFile fileByClassname(String classname) {
+    return filesByClassname.computeIfAbsent(classname, name -> Optional.ofNullable(lookupClassname(name))).orElse(null);
+  }
+
+  @CheckForNull
+  private InputFile lookupClassname(String classname) {
+    // a) check assuming the key doesnt contain the class name
+    InputFile inputFile = lookupModule(classname);
+    if (inputFile == null) {
+      // b) check assuming the key *does* contain the class name
+      String moduleName = StringUtils.substringBeforeLast(classname, ".");
+      if (!moduleName.equals(classname)) {
+        inputFile = lookupModule(moduleName);
+      }
+    }
+    return inputFile;
+  }
+
+  @CheckForNull
+  private InputFile lookupModule(String moduleName) {
+    InputFile inputFile = filesByModuleName.get(moduleName);
+    if (inputFile == null) {
+      // module names which are not plain dotted names, e.g. with consecutive dots, may still denote a valid path
+      inputFile = lookupPath(new File(StringUtils.replace(moduleName, ".", "/") + PYTHON_EXTENSION));
+    }
+    return inputFile;
+  }
+
+  @CheckForNull
+  private InputFile lookupPath(File file) {
+    LOG.debug("Using the key '{}' to lookup the resource in SonarQube", file.getPath());
+    String path = file.isAbsolute() ? PathUtils.sanitize(file.getAbsolutePath()) : PathUtils.sanitize(file.getPath());
+    if (path == null) {
+      return null;
+    }
+    return file.isAbsolute() ? filesByAbsolutePath.get(path) : filesByRelativePath.get(path);
+  }
+}
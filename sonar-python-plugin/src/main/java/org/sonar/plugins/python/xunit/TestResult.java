@@ -63,4 +63,16 @@ public class TestResult {
     time += tc.getTime();
   }
 
+  /**
+   * Adds the statistics of another result to this one, and returns this result.
+   */
+  public TestResult merge(TestResult other) {
+    errors += other.errors;
+    skipped += other.skipped;
+    tests += other.tests;
+    time += other.time;
+    failures += other.failures;
+    return this;
+  }
+
 }
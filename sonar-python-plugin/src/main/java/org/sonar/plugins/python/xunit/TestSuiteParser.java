@@ -20,10 +20,8 @@
 package org.sonar.plugins.python.xunit;
 
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 import java.util.Locale;
+import java.util.function.BiConsumer;
 import javax.xml.stream.XMLStreamException;
 import org.codehaus.staxmate.in.ElementFilter;
 import org.codehaus.staxmate.in.SMHierarchicCursor;
@@ -31,37 +29,36 @@ import org.codehaus.staxmate.in.SMInputCursor;
 import org.sonar.api.utils.ParsingUtils;
 import org.sonar.plugins.python.parser.StaxParser.XmlStreamHandler;
 
+/**
+ * Streams the test cases of a report to a consumer, together with the name of their test suite, as soon as they are read.
+ * Nothing is retained once a test case has been consumed, and the text of failures and errors (stack traces) is skipped:
+ * only the status and the execution time of test cases are needed to compute test measures.
+ */
 public class TestSuiteParser implements XmlStreamHandler {
 
-  private List<TestSuite> testSuites = new ArrayList<>();
+  private final BiConsumer<String, TestCase> testCaseConsumer;
+
+  public TestSuiteParser(BiConsumer<String, TestCase> testCaseConsumer) {
+    this.testCaseConsumer = testCaseConsumer;
+  }
 
   @Override
   public void stream(SMHierarchicCursor rootCursor) throws XMLStreamException {
     SMInputCursor testSuiteCursor = rootCursor.constructDescendantCursor(new ElementFilter("testsuite"));
     while (testSuiteCursor.getNext() != null) {
       String testSuiteClassName = getExpectedAttribute(testSuiteCursor, "name");
-      TestSuite testSuite = new TestSuite(testSuiteClassName);
-      testSuites.add(testSuite);
       SMInputCursor testCaseCursor = testSuiteCursor.childElementCursor("testcase");
 
       while (testCaseCursor.getNext() != null) {
-        testSuite.addTestCase(parseTestCaseTag(testCaseCursor));
+        testCaseConsumer.accept(testSuiteClassName, parseTestCaseTag(testCaseCursor));
       }
     }
   }
 
-  /**
-   * Returns successfully parsed reports as a collection of TestSuite objects.
-   */
-  public Collection<TestSuite> getParsedReports() {
-    return testSuites;
-  }
-
   private static TestCase parseTestCaseTag(SMInputCursor testCaseCursor) throws XMLStreamException {
     String name = parseTestCaseName(testCaseCursor);
     Double time = parseTime(testCaseCursor);
     String status = TestCase.STATUS_OK;
-    String stack = "";
     String msg = "";
 
     String file = testCaseCursor.getAttrValue("file");
@@ -75,14 +72,12 @@ public class TestSuiteParser implements XmlStreamHandler {
       } else if (TestCase.STATUS_FAILURE.equals(elementName)) {
         status = TestCase.STATUS_FAILURE;
         msg = getExpectedAttribute(childCursor, "message");
-        stack = childCursor.collectDescendantText();
       } else if (TestCase.STATUS_ERROR.equals(elementName)) {
         status = TestCase.STATUS_ERROR;
         msg = getExpectedAttribute(childCursor, "message");
-        stack = childCursor.collectDescendantText();
       }
     }
-    return new TestCase(name, time.intValue(), status, stack, msg, file, testClassName);
+    return new TestCase(name, time.intValue(), status, msg, file, testClassName);
   }
 
   private static double parseTime(SMInputCursor testCaseCursor) throws XMLStreamException {
@@ -21,8 +21,11 @@ package org.sonar.plugins.python;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
 import java.util.List;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.sonar.api.utils.WildcardPattern;
@@ -36,6 +39,9 @@ public class DirectoryScannerTest {
 
   private static final String F_1_TXT = "dir/f1.txt";
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private final File baseDir = new File("src/test/resources/org/sonar/plugins/python/scanner").getAbsoluteFile();
 
   @Test
@@ -54,6 +60,31 @@ public class DirectoryScannerTest {
     assertThat(scan("**/f1.txt")).containsOnly(new File(baseDir, F_1_TXT), new File(baseDir, "dir/subdir/f1.txt"));
   }
 
+  @Test
+  public void wildCardAfterLiteralDirectories() {
+    assertThat(scan("dir/subdir/*.txt")).containsOnly(new File(baseDir, "dir/subdir/f1.txt"));
+    assertThat(scan("dir/**/f1.txt")).containsOnly(new File(baseDir, F_1_TXT), new File(baseDir, "dir/subdir/f1.txt"));
+    assertThat(scan("dir\\subdir\\f?.txt")).containsOnly(new File(baseDir, "dir/subdir/f1.txt"));
+    assertThat(scan("/dir/*.txt")).containsOnly(new File(baseDir, F_1_TXT));
+    assertThat(scan("unknown/**/f1.txt")).isEmpty();
+    assertThat(scan("./dir/f1.txt")).isEmpty();
+    assertThat(scan("../scanner/dir/f1.txt")).isEmpty();
+  }
+
+  @Test
+  public void directoryListingsAreShared() throws IOException {
+    File dir = temporaryFolder.newFolder();
+    File report = new File(dir, "reports/report.xml");
+    assertThat(report.getParentFile().mkdir()).isTrue();
+    assertThat(report.createNewFile()).isTrue();
+    DirectoryListingCache directoryListingCache = new DirectoryListingCache();
+
+    assertThat(new DirectoryScanner(dir, WildcardPattern.create("reports/*.xml"), directoryListingCache).getIncludedFiles()).containsOnly(report);
+    assertThat(report.delete()).isTrue();
+    assertThat(new DirectoryScanner(dir, WildcardPattern.create("**/report.xml"), directoryListingCache).getIncludedFiles()).containsOnly(report);
+    assertThat(new DirectoryScanner(dir, WildcardPattern.create("**/report.xml")).getIncludedFiles()).isEmpty();
+  }
+
   @Test
   public void shouldNotFailWhenChildPathIsUnexpectedlyShorterThanBaseDirPath() {
     File dir = mock(File.class);
@@ -0,0 +1,69 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.File;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.TextRange;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExternalIssueFilesTest {
+
+  private DefaultFileSystem fileSystem;
+  private InputFile inputFile;
+
+  @Before
+  public void init() {
+    fileSystem = new DefaultFileSystem(new File("."));
+    inputFile = TestInputFileBuilder.create("moduleKey", "src/file1.py")
+      .setContents("import os\n\nos.system('ls')\n")
+      .build();
+    fileSystem.add(inputFile);
+  }
+
+  @Test
+  public void input_files() {
+    ExternalIssueFiles externalIssueFiles = new ExternalIssueFiles(fileSystem);
+    assertThat(externalIssueFiles.inputFile("src/file1.py")).isSameAs(inputFile);
+    assertThat(externalIssueFiles.inputFile("src/unknown2.py")).isNull();
+    assertThat(externalIssueFiles.inputFile("src/unknown1.py")).isNull();
+    assertThat(externalIssueFiles.inputFile("src/unknown2.py")).isNull();
+    assertThat(externalIssueFiles.unresolvedPaths()).containsExactly("src/unknown1.py", "src/unknown2.py");
+  }
+
+  @Test
+  public void lines() {
+    ExternalIssueFiles externalIssueFiles = new ExternalIssueFiles(fileSystem);
+    TextRange firstLine = externalIssueFiles.selectLine(inputFile, 1);
+    assertThat(firstLine).isEqualTo(inputFile.selectLine(1));
+    assertThat(externalIssueFiles.selectLine(inputFile, 1)).isSameAs(firstLine);
+    assertThat(externalIssueFiles.lineEndOffset(inputFile, 1)).isEqualTo(9);
+    assertThat(externalIssueFiles.lineEndOffset(inputFile, 2)).isZero();
+    assertThat(externalIssueFiles.lineEndOffset(inputFile, 3)).isEqualTo(15);
+    assertThatThrownBy(() -> externalIssueFiles.selectLine(inputFile, 100)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> externalIssueFiles.selectLine(inputFile, -1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
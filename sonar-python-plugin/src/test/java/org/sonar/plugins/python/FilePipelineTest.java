@@ -0,0 +1,90 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.sonar.api.batch.fs.InputFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class FilePipelineTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void files_prepared_in_order() throws Exception {
+    List<InputFile> files = IntStream.range(0, 20).mapToObj(i -> mock(InputFile.class, "file" + i + ".py")).collect(Collectors.toList());
+    List<String> prepared = new ArrayList<>();
+    try (FilePipeline<String> pipeline = new FilePipeline<>(files, InputFile::toString, 3, 2)) {
+      for (int i = 0; i < files.size(); i++) {
+        prepared.add(pipeline.next());
+      }
+    }
+    assertThat(prepared).isEqualTo(files.stream().map(InputFile::toString).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void single_file_prepared_inline() throws Exception {
+    InputFile file = mock(InputFile.class, "file.py");
+    Thread caller = Thread.currentThread();
+    try (FilePipeline<Thread> pipeline = new FilePipeline<>(Arrays.asList(file), f -> Thread.currentThread(), 2, 4)) {
+      assertThat(pipeline.next()).isSameAs(caller);
+    }
+  }
+
+  @Test
+  public void io_exception_rethrown() throws Exception {
+    List<InputFile> files = Arrays.asList(mock(InputFile.class, "file1.py"), mock(InputFile.class, "file2.py"));
+    FilePipeline.Stage<String> stage = file -> {
+      if (file == files.get(1)) {
+        throw new IOException("unreadable");
+      }
+      return file.toString();
+    };
+    try (FilePipeline<String> pipeline = new FilePipeline<>(files, stage, 2, 4)) {
+      assertThat(pipeline.next()).isEqualTo("file1.py");
+      thrown.expect(IOException.class);
+      thrown.expectMessage("unreadable");
+      pipeline.next();
+    }
+  }
+
+  @Test
+  public void runtime_exception_rethrown() throws Exception {
+    List<InputFile> files = Arrays.asList(mock(InputFile.class, "file1.py"), mock(InputFile.class, "file2.py"));
+    try (FilePipeline<String> pipeline = new FilePipeline<>(files, file -> {
+      throw new IllegalArgumentException("unparsable");
+    }, 2, 4)) {
+      thrown.expect(IllegalArgumentException.class);
+      thrown.expectMessage("unparsable");
+      pipeline.next();
+    }
+  }
+}
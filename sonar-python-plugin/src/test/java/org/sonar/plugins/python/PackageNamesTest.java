@@ -0,0 +1,91 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackageNamesTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File baseDir;
+  private DefaultFileSystem fileSystem;
+
+  @Before
+  public void setUp() throws IOException {
+    baseDir = temporaryFolder.newFolder();
+    fileSystem = new DefaultFileSystem(baseDir);
+  }
+
+  @Test
+  public void package_names() throws IOException {
+    InputFile rootModule = inputFile("mod.py");
+    InputFile soundInit = indexedInitFile("sound");
+    InputFile formatsModule = inputFile("sound/formats/wavread.py");
+    indexedInitFile("sound/formats");
+    InputFile notPackageModule = inputFile("sound/scripts/run.py");
+    InputFile nestedModule = inputFile("sound/scripts/nested/mod.py");
+    indexedInitFile("sound/scripts/nested");
+
+    PackageNames packageNames = new PackageNames(fileSystem);
+    assertThat(packageNames.packageName(rootModule)).isEmpty();
+    assertThat(packageNames.packageName(soundInit)).isEqualTo("sound");
+    assertThat(packageNames.packageName(formatsModule)).isEqualTo("sound.formats");
+    assertThat(packageNames.packageName(notPackageModule)).isEmpty();
+    assertThat(packageNames.packageName(nestedModule)).isEqualTo("nested");
+  }
+
+  @Test
+  public void init_files_which_are_not_indexed() throws IOException {
+    createFile("excluded/__init__.py");
+    InputFile module = inputFile("excluded/mod.py");
+
+    assertThat(new PackageNames(fileSystem).packageName(module)).isEqualTo("excluded");
+  }
+
+  private InputFile indexedInitFile(String directory) throws IOException {
+    return inputFile(directory + "/__init__.py");
+  }
+
+  private InputFile inputFile(String relativePath) throws IOException {
+    InputFile inputFile = TestInputFileBuilder.create("", baseDir, createFile(relativePath)).build();
+    fileSystem.add(inputFile);
+    return inputFile;
+  }
+
+  private File createFile(String relativePath) throws IOException {
+    File file = new File(baseDir, relativePath);
+    file.getParentFile().mkdirs();
+    file.createNewFile();
+    return file;
+  }
+
+}
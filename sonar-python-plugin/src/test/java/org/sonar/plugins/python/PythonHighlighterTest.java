@@ -51,7 +51,10 @@ public class PythonHighlighterTest {
     context = SensorContextTester.create(new File(dir));
     context.fileSystem().add(inputFile);
 
-    PythonHighlighter pythonHighlighter = new PythonHighlighter(context, inputFile);
+    highlight(new PythonHighlighter(context, inputFile), file);
+  }
+
+  protected void highlight(PythonHighlighter pythonHighlighter, File file) {
     TestPythonVisitorRunner.scanFile(file, pythonHighlighter);
   }
 
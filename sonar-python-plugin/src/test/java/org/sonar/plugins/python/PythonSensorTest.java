@@ -47,6 +47,7 @@ import org.sonar.api.batch.rule.CheckFactory;
 import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
 import org.sonar.api.batch.rule.internal.NewActiveRule;
 import org.sonar.api.batch.sensor.error.AnalysisError;
+import org.sonar.api.batch.sensor.highlighting.TypeOfText;
 import org.sonar.api.batch.sensor.internal.DefaultSensorDescriptor;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.batch.sensor.issue.Issue;
@@ -66,12 +67,15 @@ import org.sonar.check.RuleProperty;
 import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonCustomRuleRepository;
 import org.sonar.plugins.python.api.PythonVisitorContext;
+import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
 import org.sonar.python.checks.CheckList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PythonSensorTest {
@@ -96,6 +100,17 @@ public class PythonSensorTest {
       return Collections.singletonList(MyCustomRule.class);
     }
   }};
+  private static final PythonCustomRuleRepository[] SLOW_RULES = {new PythonCustomRuleRepository() {
+    @Override
+    public String repositoryKey() {
+      return "customKey";
+    }
+
+    @Override
+    public List<Class> checkClasses() {
+      return Collections.singletonList(MySlowRule.class);
+    }
+  }};
   private static Path workDir;
 
   @Rule(
@@ -116,6 +131,18 @@ public class PythonSensorTest {
     }
   }
 
+  @Rule(key = "slow")
+  public static class MySlowRule implements PythonCheck {
+    @Override
+    public void scanFile(PythonVisitorContext visitorContext) {
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
   private final File baseDir = new File("src/test/resources/org/sonar/plugins/python/sensor").getAbsoluteFile();
 
   private SensorContextTester context;
@@ -262,6 +289,29 @@ public class PythonSensorTest {
     assertThat(PythonScanner.getWorkingDirectory(context)).isEqualTo(workDir.toFile());
   }
 
+  @Test
+  public void test_issues_with_analysis_parallelism() {
+    activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, ONE_STATEMENT_PER_LINE_RULE_KEY))
+        .build())
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, "S134"))
+        .build())
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, FILE_COMPLEXITY_RULE_KEY))
+        .setParam("maximumFileComplexityThreshold", "2")
+        .build())
+      .build();
+    context.setSettings(new MapSettings().setProperty(PythonPlugin.ANALYSIS_PARALLELISM_KEY, "2"));
+
+    inputFile(FILE_2);
+    sensor().execute(context);
+
+    assertThat(context.allIssues()).extracting(issue -> issue.ruleKey().rule())
+      .containsExactlyInAnyOrder(ONE_STATEMENT_PER_LINE_RULE_KEY, "S134", FILE_COMPLEXITY_RULE_KEY);
+  }
+
   @Test
   public void cross_files_secondary_locations() {
     activeRules = new ActiveRulesBuilder()
@@ -302,11 +352,12 @@ public class PythonSensorTest {
       .setLanguage(Python.KEY)
       .build());
 
-    DefaultInputFile inputFile3 = spy(TestInputFileBuilder.create("moduleKey", "parse_error.py")
+    DefaultInputFile inputFile3 = spy(TestInputFileBuilder.create("moduleKey", "test_parse_error.py")
       .setModuleBaseDir(baseDir.toPath())
       .setCharset(StandardCharsets.UTF_8)
       .setType(Type.TEST)
       .setLanguage(Python.KEY)
+      .initMetadata(TestUtils.fileContent(new File(baseDir, "test_parse_error.py"), StandardCharsets.UTF_8))
       .build());
 
     context.fileSystem().add(inputFile1);
@@ -314,9 +365,12 @@ public class PythonSensorTest {
     context.fileSystem().add(inputFile3);
     sensor().execute(context);
     assertThat(logTester.logs()).contains("Starting test sources highlighting");
-    assertThat(logTester.logs()).contains("Unable to parse file: parse_error.py");
     assertThat(logTester.logs()).contains("Unable to highlight test file: file2.py");
     assertThat(context.highlightingTypeAt(inputFile1.key(), 1, 2)).isNotEmpty();
+    assertThat(context.highlightingTypeAt(inputFile1.key(), 14, 0)).containsOnly(TypeOfText.KEYWORD);
+    // test files are only tokenized: syntax errors do not prevent highlighting
+    assertThat(context.highlightingTypeAt(inputFile3.key(), 1, 0)).containsOnly(TypeOfText.KEYWORD);
+    assertThat(context.highlightingTypeAt(inputFile3.key(), 2, 4)).containsOnly(TypeOfText.KEYWORD);
   }
 
   @Test
@@ -384,6 +438,92 @@ public class PythonSensorTest {
     assertThat(location.line()).isEqualTo(2);
   }
 
+  @Test
+  public void file_analysis_timeout() {
+    activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of("customKey", "slow"))
+        .build())
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, ONE_STATEMENT_PER_LINE_RULE_KEY))
+        .build())
+      .build();
+    context.setSettings(new MapSettings().setProperty(PythonPlugin.FILE_TIMEOUT_KEY, "1"));
+    InputFile inputFile = inputFile(FILE_2);
+    AnalysisWarningsWrapper analysisWarnings = mock(AnalysisWarningsWrapper.class);
+
+    sensor(SLOW_RULES, analysisWarnings).execute(context);
+
+    // subscription rules are executed after the slow rule, hence skipped
+    assertThat(context.allIssues()).isEmpty();
+    assertThat(context.measure(inputFile.key(), CoreMetrics.NCLOC)).isNotNull();
+    assertThat(context.highlightingTypeAt(inputFile.key(), 3, 0)).isNotEmpty();
+    verify(analysisWarnings).addWarning(contains("file2.py"));
+    assertThat(logTester.logs(LoggerLevel.WARN)).anyMatch(log -> log.contains("exceeded the time budget of 1ms"));
+  }
+
+  @Test
+  public void light_analysis_of_generated_file() {
+    activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, ONE_STATEMENT_PER_LINE_RULE_KEY))
+        .build())
+      .build();
+    context.setSettings(new MapSettings().setProperty(PythonPlugin.LIGHT_ANALYSIS_GENERATED_FILES_KEY, "true"));
+    InputFile inputFile = inputFile("messages_pb2.py");
+
+    sensor().execute(context);
+
+    String key = inputFile.key();
+    assertThat(context.allIssues()).isEmpty();
+    assertThat(context.measure(key, CoreMetrics.NCLOC).value()).isEqualTo(3);
+    assertThat(context.measure(key, CoreMetrics.FUNCTIONS).value()).isEqualTo(1);
+    assertThat(context.measure(key, CoreMetrics.CLASSES).value()).isEqualTo(1);
+    assertThat(context.measure(key, CoreMetrics.STATEMENTS)).isNull();
+    assertThat(context.measure(key, CoreMetrics.COMPLEXITY)).isNull();
+    assertThat(context.highlightingTypeAt(key, 4, 0)).containsOnly(TypeOfText.STRUCTURED_COMMENT);
+    assertThat(context.highlightingTypeAt(key, 6, 0)).containsOnly(TypeOfText.KEYWORD);
+    assertThat(context.cpdTokens(key)).isNotEmpty();
+  }
+
+  @Test
+  public void light_analysis_above_lines_threshold() {
+    activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, ONE_STATEMENT_PER_LINE_RULE_KEY))
+        .build())
+      .build();
+    context.setSettings(new MapSettings().setProperty(PythonPlugin.LIGHT_ANALYSIS_LINES_THRESHOLD_KEY, "10"));
+    InputFile smallFile = inputFile(FILE_2);
+    InputFile largeFile = inputFile(FILE_1);
+
+    sensor().execute(context);
+
+    assertThat(context.allIssues()).extracting(issue -> issue.primaryLocation().inputComponent()).containsOnly(smallFile);
+    assertThat(context.measure(largeFile.key(), CoreMetrics.NCLOC)).isNotNull();
+    assertThat(context.measure(largeFile.key(), CoreMetrics.COMPLEXITY)).isNull();
+  }
+
+  @Test
+  public void light_analysis_above_tokens_threshold() {
+    activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder()
+        .setRuleKey(RuleKey.of(CheckList.REPOSITORY_KEY, ONE_STATEMENT_PER_LINE_RULE_KEY))
+        .build())
+      .build();
+    context.setSettings(new MapSettings().setProperty(PythonPlugin.LIGHT_ANALYSIS_TOKENS_THRESHOLD_KEY, "100"));
+    InputFile smallFile = inputFile(FILE_2);
+    InputFile largeFile = inputFile(FILE_1);
+
+    sensor().execute(context);
+
+    assertThat(context.allIssues()).extracting(issue -> issue.primaryLocation().inputComponent()).containsOnly(smallFile);
+    assertThat(context.measure(smallFile.key(), CoreMetrics.COMPLEXITY)).isNotNull();
+    assertThat(context.measure(largeFile.key(), CoreMetrics.NCLOC)).isNotNull();
+    assertThat(context.measure(largeFile.key(), CoreMetrics.COMPLEXITY)).isNull();
+    assertThat(context.cpdTokens(largeFile.key())).isNotEmpty();
+  }
+
   @Test
   public void cancelled_analysis() {
     InputFile inputFile = inputFile(FILE_1);
@@ -399,6 +539,10 @@ public class PythonSensorTest {
   }
 
   private PythonSensor sensor(@Nullable PythonCustomRuleRepository[] customRuleRepositories) {
+    return sensor(customRuleRepositories, null);
+  }
+
+  private PythonSensor sensor(@Nullable PythonCustomRuleRepository[] customRuleRepositories, @Nullable AnalysisWarningsWrapper analysisWarnings) {
     FileLinesContextFactory fileLinesContextFactory = mock(FileLinesContextFactory.class);
     FileLinesContext fileLinesContext = mock(FileLinesContext.class);
     when(fileLinesContextFactory.createFor(Mockito.any(InputFile.class))).thenReturn(fileLinesContext);
@@ -406,7 +550,7 @@ public class PythonSensorTest {
     if(customRuleRepositories == null) {
       return new PythonSensor(fileLinesContextFactory, checkFactory, new NoSonarFilter());
     }
-    return new PythonSensor(fileLinesContextFactory, checkFactory, new NoSonarFilter(), customRuleRepositories);
+    return new PythonSensor(fileLinesContextFactory, checkFactory, new NoSonarFilter(), customRuleRepositories, analysisWarnings);
   }
 
   private InputFile inputFile(String name) {
@@ -17,25 +17,26 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.plugins.python.xunit;
+package org.sonar.plugins.python;
 
-import org.junit.Test;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.sonar.plugins.python.api.tree.Token;
+import org.sonar.python.DocstringExtractor;
+import org.sonar.python.LineIndex;
+import org.sonar.python.lexer.PythonTokenizer;
 
-import static org.assertj.core.api.Assertions.assertThat;
-
-public class TestSuiteTest {
-
-  @Test
-  public void test() {
-    TestSuite suite = new TestSuite("key");
-    assertThat(suite.getKey()).isEqualTo("key");
-    assertThat(suite.getTestCases()).isEmpty();
-    assertThat(suite.getDetails()).isEqualTo("<tests-details></tests-details>");
+/**
+ * Runs all the highlighting tests of {@link PythonHighlighterTest} on the token-only highlighting.
+ */
+public class PythonTokensHighlighterTest extends PythonHighlighterTest {
 
-    TestCase testCase = new TestCase("name", 1, "status", "stack", "msg", "file", "testClassname");
-    suite.addTestCase(testCase);
-    assertThat(suite.getTestCases()).containsExactly(testCase);
-    assertThat(suite.getDetails()).isEqualTo("<tests-details><testcase status=\"status\" time=\"1\" name=\"name\"/></tests-details>");
+  @Override
+  protected void highlight(PythonHighlighter pythonHighlighter, File file) {
+    String content = TestUtils.fileContent(file, StandardCharsets.UTF_8);
+    List<Token> tokens = new PythonTokenizer().tokenize(content);
+    pythonHighlighter.scanTokens(tokens, DocstringExtractor.docstringTokens(tokens), new LineIndex(content));
   }
 
 }
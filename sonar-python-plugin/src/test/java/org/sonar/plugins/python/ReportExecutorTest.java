@@ -0,0 +1,74 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.sonar.api.config.internal.ConfigurationBridge;
+import org.sonar.api.config.internal.MapSettings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportExecutorTest {
+
+  @Test
+  public void sequential_by_default() {
+    Thread callingThread = Thread.currentThread();
+    try (ReportExecutor reportExecutor = ReportExecutor.create(new ConfigurationBridge(new MapSettings()))) {
+      assertThat(reportExecutor.map(Arrays.asList(1, 2, 3), i -> Thread.currentThread() == callingThread)).containsExactly(true, true, true);
+    }
+  }
+
+  @Test
+  public void dedicated_pool_when_parallelism_is_enabled() {
+    MapSettings settings = new MapSettings().setProperty(PythonPlugin.ANALYSIS_PARALLELISM_KEY, "2");
+    assertThat(ReportExecutor.parallelism(new ConfigurationBridge(settings))).isEqualTo(2);
+    List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+    try (ReportExecutor reportExecutor = ReportExecutor.create(new ConfigurationBridge(settings))) {
+      assertThat(reportExecutor.map(items, i -> i * 2)).containsExactlyElementsOf(items.stream().map(i -> i * 2).collect(Collectors.toList()));
+      List<Boolean> onCommonPool = reportExecutor.map(items, i -> ForkJoinPool.commonPool() == ForkJoinTask.getPool());
+      assertThat(onCommonPool).doesNotContain(true);
+    }
+  }
+
+  @Test
+  public void results_are_consumed_as_soon_as_computed() {
+    List<String> events = new ArrayList<>();
+    try (ReportExecutor reportExecutor = ReportExecutor.create(new ConfigurationBridge(new MapSettings()))) {
+      reportExecutor.forEach(Arrays.asList(1, 2), i -> events.add("apply " + i), added -> events.add("consume"));
+    }
+    assertThat(events).containsExactly("apply 1", "consume", "apply 2", "consume");
+
+    MapSettings settings = new MapSettings().setProperty(PythonPlugin.ANALYSIS_PARALLELISM_KEY, "2");
+    AtomicInteger sum = new AtomicInteger();
+    try (ReportExecutor reportExecutor = ReportExecutor.create(new ConfigurationBridge(settings))) {
+      reportExecutor.forEach(IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList()), i -> i * 2, sum::addAndGet);
+    }
+    assertThat(sum.get()).isEqualTo(1001000);
+  }
+
+}
@@ -28,6 +28,8 @@ import org.sonar.plugins.python.api.PythonFile;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SonarQubePythonFileTest {
@@ -46,6 +48,14 @@ public class SonarQubePythonFileTest {
     assertThat(pythonFile.uri()).isEqualTo(inputFile.uri());
   }
 
+  @Test
+  public void file_with_read_content() throws Exception {
+    PythonFile pythonFile = SonarQubePythonFile.create(inputFile, "Hello 6.2!");
+    assertThat(pythonFile.content()).isEqualTo("Hello 6.2!");
+    assertThat(pythonFile.uri()).isEqualTo(inputFile.uri());
+    verify(inputFile, never()).contents();
+  }
+
   @Test
   public void unknown_file() throws Exception {
     when(inputFile.contents()).thenThrow(new FileNotFoundException());
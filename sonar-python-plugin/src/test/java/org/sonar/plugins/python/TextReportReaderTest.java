@@ -0,0 +1,109 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextReportReaderTest {
+
+  @Rule
+  public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Test
+  public void default_format() throws IOException {
+    assertThat(parse(TextReportReader.COLUMN_ONE_BASED,
+      "src/file1.py:12:5: E501 line too long (82 > 79 characters)",
+      "C:\\project\\file2.py:1:1: C0111: Missing docstring: module",
+      "file3.py:2:3: W0 a: b"))
+      .containsExactly(
+        "src/file1.py|E501|line too long (82 > 79 characters)|12|4",
+        "C:\\project\\file2.py|C0111|Missing docstring: module|1|0",
+        "file3.py|W0|a: b|2|2");
+  }
+
+  @Test
+  public void legacy_format() throws IOException {
+    assertThat(parse(TextReportReader.COLUMN_ZERO_BASED,
+      "src/file1.py:3: [C0111(missing-docstring), ] Missing docstring",
+      "src/file1.py:4: [W0613(unused-argument), foo] Unused argument 'a'"))
+      .containsExactly(
+        "src/file1.py|C0111|Missing docstring|3|null",
+        "src/file1.py|W0613|Unused argument 'a'|4|null");
+  }
+
+  @Test
+  public void invalid_lines() throws IOException {
+    assertThat(parse(TextReportReader.COLUMN_ZERO_BASED,
+      "",
+      "************* Module file1",
+      ":1:1: E501 no path",
+      "file1.py:1:1: E: missing rule key",
+      "file1.py:a:1: E501 invalid line")).isEmpty();
+  }
+
+  @Test
+  public void large_report() throws IOException {
+    assertLargeReport(1);
+  }
+
+  @Test
+  public void large_report_parsed_concurrently() throws IOException {
+    assertLargeReport(4);
+  }
+
+  private void assertLargeReport(int parallelism) throws IOException {
+    String[] lines = IntStream.range(0, 25_000).mapToObj(i -> "file1.py:" + (i + 1) + ":0: E501 message " + i).toArray(String[]::new);
+    List<String> issues = parse(TextReportReader.COLUMN_ZERO_BASED, parallelism, lines);
+    assertThat(issues).hasSize(25_000);
+    assertThat(issues.get(0)).isEqualTo("file1.py|E501|message 0|1|0");
+    assertThat(issues.get(12_345)).isEqualTo("file1.py|E501|message 12345|12346|0");
+    assertThat(issues.get(24_999)).isEqualTo("file1.py|E501|message 24999|25000|0");
+  }
+
+  private List<String> parse(int columnStartIndex, String... lines) throws IOException {
+    return parse(columnStartIndex, 1, lines);
+  }
+
+  private List<String> parse(int columnStartIndex, int parallelism, String... lines) throws IOException {
+    File report = tmpDir.newFile();
+    Files.write(report.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    DefaultFileSystem fileSystem = new DefaultFileSystem(tmpDir.getRoot()).setEncoding(StandardCharsets.UTF_8);
+    List<String> issues = new ArrayList<>();
+    new TextReportReader(columnStartIndex, parallelism).parse(report, fileSystem,
+      issue -> issues.add(Arrays.asList(issue.filePath, issue.ruleKey, issue.message, issue.lineNumber, issue.columnNumber).stream()
+        .map(String::valueOf)
+        .collect(Collectors.joining("|"))));
+    return issues;
+  }
+}
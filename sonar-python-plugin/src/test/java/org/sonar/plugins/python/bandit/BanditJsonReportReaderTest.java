@@ -0,0 +1,114 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.bandit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.python.bandit.BanditJsonReportReader.Issue;
+import org.sonarsource.analyzer.commons.internal.json.simple.parser.ParseException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BanditJsonReportReaderTest {
+
+  @Rule
+  public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static final String RESULT = "{ \"filename\": \"file1.py\", \"issue_confidence\": \"HIGH\", \"issue_severity\": \"LOW\", " +
+    "\"issue_text\": \"A message\", \"line_number\": 3, \"test_id\": \"B413\" }";
+
+  @Test
+  public void results() throws Exception {
+    List<Issue> issues = read("{ \"errors\": [], \"results\": [ " + RESULT + ", { \"test_id\": \"B101\", \"line_number\": 5 } ] }");
+    assertThat(issues).hasSize(2);
+    Issue first = issues.get(0);
+    assertThat(first.filePath).isEqualTo("file1.py");
+    assertThat(first.ruleKey).isEqualTo("B413");
+    assertThat(first.message).isEqualTo("A message");
+    assertThat(first.lineNumber).isEqualTo(3);
+    assertThat(first.severity).isEqualTo("LOW");
+    assertThat(first.confidence).isEqualTo("HIGH");
+    Issue second = issues.get(1);
+    assertThat(second.ruleKey).isEqualTo("B101");
+    assertThat(second.lineNumber).isEqualTo(5);
+    assertThat(second.filePath).isNull();
+    assertThat(second.message).isNull();
+  }
+
+  @Test
+  public void nested_values_of_results_are_ignored() throws Exception {
+    List<Issue> issues = read("{ \"results\": [ { \"code\": \"3 import x\\n\", \"line_range\": [3, 4], " +
+      "\"issue_cwe\": { \"id\": 20, \"link\": \"https://cwe.mitre.org/data/definitions/20.html\", \"filename\": \"nested.py\" }, " +
+      "\"more_info\": { \"test_id\": \"nested\", \"line_number\": 42, \"list\": [ { \"issue_text\": \"nested\" } ] }, " +
+      "\"filename\": \"file1.py\", \"issue_text\": \"A message\", \"line_number\": 3, \"test_id\": \"B413\" } ] }");
+    assertThat(issues).hasSize(1);
+    Issue issue = issues.get(0);
+    assertThat(issue.filePath).isEqualTo("file1.py");
+    assertThat(issue.ruleKey).isEqualTo("B413");
+    assertThat(issue.message).isEqualTo("A message");
+    assertThat(issue.lineNumber).isEqualTo(3);
+  }
+
+  @Test
+  public void only_top_level_results_are_read() throws Exception {
+    assertThat(read("{ \"metrics\": { \"results\": [ " + RESULT + " ] } }")).isEmpty();
+    assertThat(read("{ \"errors\": [ { \"results\": [ " + RESULT + " ] } ] }")).isEmpty();
+    assertThat(read("[ { \"results\": [ " + RESULT + " ] } ]")).isEmpty();
+    assertThat(read("{ \"results\": [ [ " + RESULT + " ] ] }")).isEmpty();
+    assertThat(read("{ \"results\": [], \"other\": [ " + RESULT + " ] }")).isEmpty();
+  }
+
+  @Test
+  public void results_which_are_not_an_array() throws Exception {
+    assertThat(read("{ \"results\": " + RESULT + " }")).isEmpty();
+    assertThat(read("{ \"results\": { \"issue\": " + RESULT + " } }")).isEmpty();
+    assertThat(read("{ \"results\": 42, \"errors\": [] }")).isEmpty();
+    assertThat(read("{ \"results\": [ 42, \"text\", null ] }")).isEmpty();
+  }
+
+  @Test
+  public void nothing_is_read_from_invalid_reports() {
+    List<Issue> issues = new ArrayList<>();
+    assertThatThrownBy(() -> BanditJsonReportReader.read(report("{ \"results\": [ " + RESULT + ", " + RESULT + ", { \"test_id\": }"), issues::add))
+      .isInstanceOf(ParseException.class);
+    assertThat(issues).isEmpty();
+  }
+
+  private List<Issue> read(String json) throws IOException, ParseException {
+    List<Issue> issues = new ArrayList<>();
+    BanditJsonReportReader.read(report(json), issues::add);
+    return issues;
+  }
+
+  private File report(String json) throws IOException {
+    File report = tmpDir.newFile();
+    Files.write(report.toPath(), json.getBytes(UTF_8));
+    return report;
+  }
+
+}
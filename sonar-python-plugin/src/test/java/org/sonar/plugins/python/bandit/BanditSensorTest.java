@@ -162,6 +162,15 @@ public class BanditSensorTest {
       .contains("not-bandit-file.json' can't be read.");
   }
 
+  @Test
+  public void no_issues_with_truncated_bandit_file() throws IOException {
+    List<ExternalIssue> externalIssues = executeSensorImporting(7, 9, "bandit-report-truncated.json");
+    assertThat(externalIssues).isEmpty();
+    assertThat(onlyOneLogElement(logTester.logs(LoggerLevel.ERROR)))
+      .startsWith("No issues information will be saved as the report file '")
+      .contains("bandit-report-truncated.json' can't be read.");
+  }
+
   @Test
   public void no_issues_with_empty_bandit_file() throws IOException {
     List<ExternalIssue> externalIssues = executeSensorImporting(7, 9, "bandit-report-empty.json");
@@ -0,0 +1,101 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.coverage;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.plugins.python.TestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoverageFileResolverTest {
+
+  private final File moduleBaseDir = new File("src/test/resources/org/sonar/plugins/python/coverage-reports").getAbsoluteFile();
+  private DefaultFileSystem fileSystem;
+  private List<File> baseDirectories;
+
+  @Before
+  public void init() {
+    fileSystem = new DefaultFileSystem(moduleBaseDir);
+    baseDirectories = Collections.singletonList(moduleBaseDir);
+    inputFile("sources/file1.py", "py");
+    inputFile("sources/file2.py", null);
+  }
+
+  private InputFile inputFile(String relativePath, String language) {
+    DefaultInputFile inputFile = TestInputFileBuilder.create("moduleKey", relativePath)
+      .setModuleBaseDir(moduleBaseDir.toPath())
+      .setLanguage(language)
+      .initMetadata(TestUtils.fileContent(new File(moduleBaseDir, relativePath), StandardCharsets.UTF_8))
+      .build();
+    fileSystem.add(inputFile);
+    return inputFile;
+  }
+
+  @Test
+  public void relative_path() {
+    CoverageFileResolver resolver = new CoverageFileResolver(fileSystem);
+    CoverageFileResolver.Resolution resolution = resolver.resolve(baseDirectories, "sources/file1.py");
+    assertThat(resolution.inputFile().relativePath()).isEqualTo("sources/file1.py");
+    assertThat(resolution.unresolvedMessage()).isNull();
+    assertThat(resolver.resolve(baseDirectories, "sources/file1.py")).isSameAs(resolution);
+  }
+
+  @Test
+  public void file_not_indexed_as_python() {
+    CoverageFileResolver resolver = new CoverageFileResolver(fileSystem);
+    assertThat(resolver.resolve(baseDirectories, "sources/file2.py").inputFile().relativePath()).isEqualTo("sources/file2.py");
+    assertThat(resolver.resolve(baseDirectories, "sources/file3.py").inputFile()).isNull();
+    assertThat(resolver.resolve(baseDirectories, "sources/file3.py").unresolvedMessage()).isNull();
+  }
+
+  @Test
+  public void absolute_path() {
+    CoverageFileResolver resolver = new CoverageFileResolver(fileSystem);
+    String absolutePath = new File(moduleBaseDir, "sources/file1.py").getAbsolutePath();
+    assertThat(resolver.resolve(baseDirectories, absolutePath).inputFile().relativePath()).isEqualTo("sources/file1.py");
+
+    String unknownPath = new File(moduleBaseDir, "sources/not_exist.py").getAbsolutePath();
+    assertThat(resolver.resolve(baseDirectories, unknownPath).inputFile()).isNull();
+    assertThat(resolver.resolve(baseDirectories, unknownPath).unresolvedMessage()).contains("the file does not exist in all <source>");
+  }
+
+  @Test
+  public void unresolved_relative_path() {
+    CoverageFileResolver resolver = new CoverageFileResolver(fileSystem);
+    CoverageFileResolver.Resolution notFound = resolver.resolve(baseDirectories, "sources/not_exist.py");
+    assertThat(notFound.inputFile()).isNull();
+    assertThat(notFound.unresolvedMessage()).contains("the file does not exist in all <source>");
+
+    List<File> sources = Arrays.asList(new File(moduleBaseDir, "sources/folder1"), new File(moduleBaseDir, "sources/folder2"));
+    CoverageFileResolver.Resolution ambiguous = resolver.resolve(sources, "file2.py");
+    assertThat(ambiguous.inputFile()).isNull();
+    assertThat(ambiguous.unresolvedMessage()).contains("ambiguity");
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.coverage;
+
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.batch.sensor.coverage.NewCoverage;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class FileCoverageTest {
+
+  private final InputFile inputFile = TestInputFileBuilder.create("", "file.py").setLines(1000).build();
+
+  @Test
+  public void first_measures_of_a_report_are_kept() {
+    FileCoverage coverage = new FileCoverage(inputFile);
+    coverage.lineHits(1, 2);
+    coverage.lineHits(1, 5);
+    coverage.conditions(3, 0, 0);
+    coverage.conditions(3, 2, 1);
+    coverage.conditions(3, 4, 4);
+
+    NewCoverage newCoverage = mock(NewCoverage.class);
+    coverage.save(newCoverage);
+    verify(newCoverage).lineHits(1, 2);
+    verify(newCoverage, never()).lineHits(1, 5);
+    verify(newCoverage).conditions(3, 2, 1);
+    verify(newCoverage, never()).conditions(3, 4, 4);
+    verify(newCoverage, never()).lineHits(3, 0);
+    verify(newCoverage).save();
+  }
+
+  @Test
+  public void merge_reports() {
+    FileCoverage first = new FileCoverage(inputFile);
+    first.lineHits(1, 2);
+    first.lineHits(2, 0);
+    first.conditions(2, 2, 1);
+    FileCoverage second = new FileCoverage(inputFile);
+    second.lineHits(1, 3);
+    second.conditions(2, 2, 2);
+    second.lineHits(1000, 1);
+
+    NewCoverage newCoverage = mock(NewCoverage.class);
+    first.merge(second).merge(new FileCoverage(inputFile)).save(newCoverage);
+    verify(newCoverage).lineHits(1, 5);
+    verify(newCoverage).lineHits(2, 0);
+    verify(newCoverage).conditions(2, 2, 2);
+    verify(newCoverage).lineHits(1000, 1);
+    verify(newCoverage, never()).conditions(eq(1000), anyInt(), anyInt());
+  }
+
+  @Test
+  public void line_out_of_range() {
+    FileCoverage coverage = new FileCoverage(inputFile);
+    assertThatThrownBy(() -> coverage.lineHits(1001, 1))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Line 1001 is out of range in the file file.py (lines: 1000)");
+    assertThatThrownBy(() -> coverage.conditions(Integer.MAX_VALUE, 2, 1))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Line " + Integer.MAX_VALUE + " is out of range in the file file.py (lines: 1000)");
+  }
+
+  @Test
+  public void line_not_strictly_positive() {
+    FileCoverage coverage = new FileCoverage(inputFile);
+    assertThatThrownBy(() -> coverage.lineHits(0, 1))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Line number must be strictly positive: 0");
+  }
+}
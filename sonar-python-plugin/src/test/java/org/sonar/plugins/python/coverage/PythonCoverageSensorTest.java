@@ -40,6 +40,7 @@ import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.config.internal.MapSettings;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.plugins.python.PythonPlugin;
 import org.sonar.plugins.python.TestUtils;
 import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
 
@@ -262,6 +263,33 @@ public class PythonCoverageSensorTest {
     assertThat(context.coveredConditions(FILE4_KEY, 10)).isEqualTo(1);
   }
 
+  @Test
+  public void test_coverage_merged_across_reports() throws Exception {
+    assertCoverageMergedAcrossReports();
+  }
+
+  @Test
+  public void test_coverage_merged_across_reports_parsed_concurrently() throws Exception {
+    settings.setProperty(PythonPlugin.ANALYSIS_PARALLELISM_KEY, "2");
+    assertCoverageMergedAcrossReports();
+  }
+
+  private void assertCoverageMergedAcrossReports() throws Exception {
+    Path workDir = tmpDir.newFolder("shards").toPath();
+    Path report = new File(moduleBaseDir, "coverage.xml").toPath();
+    Path firstShard = Files.copy(report, workDir.resolve("coverage-1.xml")).toAbsolutePath();
+    Path secondShard = Files.copy(report, workDir.resolve("coverage-2.xml")).toAbsolutePath();
+    settings.setProperty(PythonCoverageSensor.REPORT_PATHS_KEY, firstShard + "," + secondShard);
+    coverageSensor.execute(context);
+
+    Integer[] file2Expected = {2, 6, 2, 0, 2, 2};
+    for (int line = 1; line <= 6; line++) {
+      assertThat(context.lineHits(FILE2_KEY, line)).isEqualTo(file2Expected[line - 1]);
+    }
+    assertThat(context.conditions(FILE2_KEY, 3)).isEqualTo(2);
+    assertThat(context.coveredConditions(FILE2_KEY, 3)).isEqualTo(1);
+  }
+
   @Test
   public void test_comma_separated_paths_with_deprecated_property() {
     settings.setProperty(PythonCoverageSensor.REPORT_PATHS_KEY, "");
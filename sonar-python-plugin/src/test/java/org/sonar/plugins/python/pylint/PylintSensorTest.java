@@ -192,6 +192,38 @@ public class PylintSensorTest {
       .isEqualTo("Missing docstring");
   }
 
+  @Test
+  public void issues_json_format() throws IOException {
+    List<ExternalIssue> externalIssues = executeSensorImporting(7, 9, "pylint_report.json", false);
+    assertThat(externalIssues).hasSize(4);
+
+    ExternalIssue first = externalIssues.get(0);
+    assertThat(first.ruleKey()).hasToString("external_pylint:C0114");
+    assertThat(first.type()).isEqualTo(RuleType.CODE_SMELL);
+    assertThat(first.severity()).isEqualTo(Severity.MAJOR);
+    assertThat(first.primaryLocation().inputComponent().key()).isEqualTo(PYLINT_FILE);
+    assertThat(first.primaryLocation().message()).isEqualTo("Missing module docstring (missing-module-docstring)");
+    assertTextRange(first.primaryLocation().textRange(), 1, 0, 1, 1);
+
+    ExternalIssue second = externalIssues.get(1);
+    assertThat(second.ruleKey()).hasToString("external_pylint:C0116");
+    assertTextRange(second.primaryLocation().textRange(), 1, 4, 1, 10);
+
+    ExternalIssue third = externalIssues.get(2);
+    assertThat(third.ruleKey()).hasToString("external_pylint:W0612");
+    assertThat(third.primaryLocation().message()).isEqualTo("Unused variable 'max' (unused-variable)");
+    assertTextRange(third.primaryLocation().textRange(), 4, 8, 4, 11);
+
+    // end of the issue after the end of the line
+    ExternalIssue fourth = externalIssues.get(3);
+    assertThat(fourth.ruleKey()).hasToString("external_pylint:R0124");
+    assertTextRange(fourth.primaryLocation().textRange(), 5, 11, 5, 12);
+
+    assertThat(onlyOneLogElement(logTester.logs(LoggerLevel.WARN))).hasToString("Failed to resolve 1 file path(s) in Pylint report. " +
+      "No issues imported related to file(s): pylint/unknown_file.py");
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains("Missing information for message-id:'null', path:'pylint/file1.py', message:'No message id', line:'1'");
+  }
+
   @Test
   public void no_issues_unknown_files() throws IOException {
     List<ExternalIssue> externalIssues = executeSensorImporting(7, 9, "pylint_report_unknown_files.txt", false);
@@ -200,6 +232,15 @@ public class PylintSensorTest {
       "No issues imported related to file(s): pylint/unknown_file.py");
   }
 
+  @Test
+  public void no_issues_with_truncated_json_report() throws IOException {
+    List<ExternalIssue> externalIssues = executeSensorImporting(7, 9, "pylint_report_truncated.json", false);
+    assertThat(externalIssues).isEmpty();
+    assertThat(onlyOneLogElement(logTester.logs(LoggerLevel.ERROR)))
+      .startsWith("No issues information will be saved as the report file '")
+      .contains("pylint_report_truncated.json' can't be read.");
+  }
+
   @Test
   public void no_issues_with_invalid_report_path() throws IOException {
     List<ExternalIssue> externalIssues = executeSensorImporting(7, 9, "invalid-path.txt", false);
@@ -255,6 +296,14 @@ public class PylintSensorTest {
     return path.substring(path.lastIndexOf('.') + 1);
   }
 
+  private static void assertTextRange(@Nullable TextRange textRange, int startLine, int startLineOffset, int endLine, int endLineOffset) {
+    assertThat(textRange).isNotNull();
+    assertThat(textRange.start().line()).isEqualTo(startLine);
+    assertThat(textRange.start().lineOffset()).isEqualTo(startLineOffset);
+    assertThat(textRange.end().line()).isEqualTo(endLine);
+    assertThat(textRange.end().lineOffset()).isEqualTo(endLineOffset);
+  }
+
   public static String onlyOneLogElement(List<String> elements) {
     assertThat(elements).hasSize(1);
     return elements.get(0);
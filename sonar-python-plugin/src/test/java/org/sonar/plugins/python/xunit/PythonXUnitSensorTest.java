@@ -20,6 +20,10 @@
 package org.sonar.plugins.python.xunit;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLStreamException;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -34,10 +38,14 @@ import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.Metric;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.plugins.python.PythonPlugin;
 import org.sonar.plugins.python.warnings.AnalysisWarningsWrapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -144,6 +152,65 @@ public class PythonXUnitSensorTest {
     assertThat(measure(testFile2, CoreMetrics.TEST_FAILURES)).isEqualTo(1);
   }
 
+  @Test
+  public void shouldMergeResultsOfReportsForSameFile() {
+    DefaultInputFile testFile1 = TestInputFileBuilder.create("", FILE_SAMPLE1).build();
+    DefaultInputFile testFile2 = TestInputFileBuilder.create("", FILE_SAMPLE2).build();
+    fs.add(testFile1);
+    fs.add(testFile2);
+    // pytest, malformed, no-classname and empty reports
+    settings.setProperty(PythonXUnitSensor.REPORT_PATH_KEY, "xunit-reports/*-xunit-result.xml");
+    sensor.execute(context);
+
+    assertThat(measure(testFile1, CoreMetrics.TESTS)).isEqualTo(6);
+    assertThat(measure(testFile2, CoreMetrics.TESTS)).isEqualTo(8);
+
+    assertThat(measure(testFile1, CoreMetrics.SKIPPED_TESTS)).isEqualTo(0);
+    assertThat(measure(testFile1, CoreMetrics.TEST_ERRORS)).isEqualTo(0);
+    assertThat(measure(testFile1, CoreMetrics.TEST_FAILURES)).isEqualTo(2);
+    verify(analysisWarnings, never()).addWarning(anyString());
+  }
+
+  @Test
+  public void shouldMergeResultsOfReportsParsedConcurrently() {
+    DefaultInputFile testFile1 = TestInputFileBuilder.create("", FILE_SAMPLE1).build();
+    DefaultInputFile testFile2 = TestInputFileBuilder.create("", FILE_SAMPLE2).build();
+    fs.add(testFile1);
+    fs.add(testFile2);
+    settings.setProperty(PythonXUnitSensor.REPORT_PATH_KEY, "xunit-reports/*-xunit-result.xml");
+    settings.setProperty(PythonPlugin.ANALYSIS_PARALLELISM_KEY, "2");
+    sensor.execute(context);
+
+    assertThat(measure(testFile1, CoreMetrics.TESTS)).isEqualTo(6);
+    assertThat(measure(testFile2, CoreMetrics.TESTS)).isEqualTo(8);
+    assertThat(measure(testFile1, CoreMetrics.TEST_FAILURES)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldSaveMeasuresOfReportsPrecedingInvalidReport() {
+    DefaultInputFile testFile1 = TestInputFileBuilder.create("", FILE_SAMPLE1).build();
+    DefaultInputFile testFile2 = TestInputFileBuilder.create("", FILE_SAMPLE2).build();
+    fs.add(testFile1);
+    fs.add(testFile2);
+    List<File> reports = reports("pytest-xunit-result.xml", "invalid-time-xunit-report.xml", "no-classname-xunit-result.xml");
+
+    assertThatThrownBy(() -> sensor.processReports(context, reports))
+      .isInstanceOf(XMLStreamException.class)
+      .hasMessageContaining("Unparseable number: \"brrrr\"");
+    // results of the reports following the invalid one are not merged
+    assertThat(measure(testFile1, CoreMetrics.TESTS)).isEqualTo(2);
+    assertThat(measure(testFile2, CoreMetrics.TESTS)).isEqualTo(8);
+  }
+
+  @Test
+  public void shouldSaveNothingInSimpleModeWhenAReportIsInvalid() {
+    settings.setProperty(PythonXUnitSensor.SKIP_DETAILS, true);
+    List<File> reports = reports("pytest-xunit-result.xml", "invalid-time-xunit-report.xml");
+
+    assertThatThrownBy(() -> sensor.processReports(context, reports)).isInstanceOf(XMLStreamException.class);
+    assertThat(context.measure(context.module().key(), CoreMetrics.TESTS)).isNull();
+  }
+
   @Test
   public void testNoTestReport() {
     DefaultInputFile testFile2 = TestInputFileBuilder.create("", FILE_SAMPLE2).build();
@@ -187,6 +254,13 @@ public class PythonXUnitSensorTest {
     sensor.execute(context);
     assertThat(logTester.logs(LoggerLevel.WARN)).contains("Cannot read report 'xunit-reports/missing-attribute-xunit-report.xml', the following exception occurred: Missing attribute 'time' at line 3");
   }
+
+  private List<File> reports(String... fileNames) {
+    return Arrays.stream(fileNames)
+      .map(fileName -> new File(baseDir, "xunit-reports/" + fileName))
+      .collect(Collectors.toList());
+  }
+
   private Integer moduleMeasure(Metric<Integer> metric) {
     return measure(context.module(), metric);
   }
@@ -31,11 +31,11 @@ public class TestCaseTest {
     Map<String, TestCase> ioMap = new HashMap<>();
 
     ioMap.put("<testcase status=\"ok\" time=\"1\" name=\"name\"/>",
-              new TestCase("name", 1, "ok", "", "", null, null));
-    ioMap.put("<testcase status=\"error\" time=\"1\" name=\"name\"><error message=\"errmsg\"><![CDATA[stack]]></error></testcase>",
-              new TestCase("name", 1, "error", "stack", "errmsg", null, null));
-    ioMap.put("<testcase status=\"failure\" time=\"1\" name=\"name\"><failure message=\"errmsg\"><![CDATA[stack]]></failure></testcase>",
-              new TestCase("name", 1, "failure", "stack", "errmsg","file", "testClassname"));
+              new TestCase("name", 1, "ok", "", null, null));
+    ioMap.put("<testcase status=\"error\" time=\"1\" name=\"name\"><error message=\"errmsg\"></error></testcase>",
+              new TestCase("name", 1, "error", "errmsg", null, null));
+    ioMap.put("<testcase status=\"failure\" time=\"1\" name=\"name\"><failure message=\"errmsg\"></failure></testcase>",
+              new TestCase("name", 1, "failure", "errmsg","file", "testClassname"));
 
     for(Map.Entry<String, TestCase> entry: ioMap.entrySet()) {
       assertEquals(entry.getKey(), entry.getValue().getDetails());
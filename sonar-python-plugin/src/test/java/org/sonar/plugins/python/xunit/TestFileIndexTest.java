@@ -0,0 +1,68 @@
+/*
+ * SonarQube Python Plugin
+ * Copyright (C) 2011-2020 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.python.xunit;
+
+import java.io.File;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestFileIndexTest {
+
+  private final File baseDir = new File("src/test/resources/org/sonar/plugins/python").getAbsoluteFile();
+  private DefaultFileSystem fileSystem;
+  private InputFile testFile;
+  private InputFile dottedFile;
+
+  @Before
+  public void setUp() {
+    fileSystem = new DefaultFileSystem(baseDir);
+    testFile = TestInputFileBuilder.create("", baseDir, new File(baseDir, "tests/dir/test_sample.py")).build();
+    dottedFile = TestInputFileBuilder.create("", baseDir, new File(baseDir, "tests/test.dotted.py")).build();
+    fileSystem.add(testFile);
+    fileSystem.add(dottedFile);
+  }
+
+  @Test
+  public void file_by_path() {
+    TestFileIndex index = new TestFileIndex(fileSystem);
+    assertThat(index.fileByPath("tests/dir/test_sample.py")).isSameAs(testFile);
+    assertThat(index.fileByPath("tests/./dir/test_sample.py")).isSameAs(testFile);
+    assertThat(index.fileByPath(new File(baseDir, "tests/dir/test_sample.py").getAbsolutePath())).isSameAs(testFile);
+    assertThat(index.fileByPath("tests/dir/unknown.py")).isNull();
+    assertThat(index.fileByPath("../unknown.py")).isNull();
+  }
+
+  @Test
+  public void file_by_classname() {
+    TestFileIndex index = new TestFileIndex(fileSystem);
+    assertThat(index.fileByClassname("tests.dir.test_sample")).isSameAs(testFile);
+    assertThat(index.fileByClassname("tests.dir.test_sample.SampleTest")).isSameAs(testFile);
+    assertThat(index.fileByClassname("tests..dir.test_sample")).isSameAs(testFile);
+    assertThat(index.fileByClassname("tests.dir")).isNull();
+    assertThat(index.fileByClassname("test_sample")).isNull();
+    // dotted file names are not module names
+    assertThat(index.fileByClassname("tests.test.dotted")).isNull();
+  }
+}
@@ -74,7 +74,7 @@ public class TestResultTest {
   }
 
   private static TestCase createTestCase(int time, String status) {
-    return new TestCase("name", time, status, "stack", "msg", "file", "testClassname");
+    return new TestCase("name", time, status, "msg", "file", "testClassname");
   }
 
   @Test
@@ -110,4 +110,22 @@ public class TestResultTest {
     assertThat(testResult.getSkipped()).isEqualTo(skippedBefore + 1);
   }
 
+  @Test
+  public void mergingResultsShouldAddStatistics() {
+    testResult.addTestCase(createTestCase(1, "ok"));
+    testResult.addTestCase(createTestCase(2, "skipped"));
+    TestResult other = new TestResult();
+    other.addTestCase(createTestCase(3, "error"));
+    other.addTestCase(createTestCase(4, "failure"));
+    other.addTestCase(createTestCase(5, "skipped"));
+
+    assertThat(testResult.merge(other)).isSameAs(testResult);
+    assertThat(testResult.getTests()).isEqualTo(5);
+    assertThat(testResult.getExecutedTests()).isEqualTo(3);
+    assertThat(testResult.getErrors()).isEqualTo(1);
+    assertThat(testResult.getFailures()).isEqualTo(1);
+    assertThat(testResult.getSkipped()).isEqualTo(2);
+    assertThat(testResult.getTime()).isEqualTo(15);
+  }
+
 }
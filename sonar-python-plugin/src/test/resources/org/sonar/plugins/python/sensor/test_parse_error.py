@@ -0,0 +1,2 @@
+def test_syntax_error(:
+    assert True